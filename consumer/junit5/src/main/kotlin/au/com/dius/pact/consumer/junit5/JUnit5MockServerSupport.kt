@@ -7,15 +7,35 @@ import au.com.dius.pact.core.model.BasePact
 import au.com.dius.pact.core.model.Pact
 import au.com.dius.pact.core.model.PactSpecVersion
 import org.junit.jupiter.api.extension.ExtensionContext
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * Wraps the mock server for a test. If the mock server came from a pool, closing it returns it to the pool instead of
+ * stopping it.
+ */
+class JUnit5MockServerSupport @JvmOverloads constructor(
+  private val baseMockServer: BaseMockServer,
+  private val pool: MockServerPool? = null
+) : AbstractBaseMockServer(), ExtensionContext.Store.CloseableResource {
+  private val released = AtomicBoolean(false)
 
-class JUnit5MockServerSupport(private val baseMockServer: BaseMockServer) : AbstractBaseMockServer(),
-  ExtensionContext.Store.CloseableResource {
   override fun close() {
-    baseMockServer.stop()
+    if (pool != null) {
+      if (released.compareAndSet(false, true)) {
+        pool.release(baseMockServer)
+      }
+    } else {
+      baseMockServer.stop()
+    }
+  }
+
+  override fun start() {
+    if (pool == null) {
+      baseMockServer.start()
+    }
   }
 
-  override fun start() = baseMockServer.start()
-  override fun stop() = baseMockServer.stop()
+  override fun stop() = close()
   override fun waitForServer() = baseMockServer.waitForServer()
   override fun getUrl() = baseMockServer.getUrl()
   override fun getPort() = baseMockServer.getPort()
@@ -23,4 +43,9 @@ class JUnit5MockServerSupport(private val baseMockServer: BaseMockServer) : Abst
     baseMockServer.runAndWritePact(pact, pactVersion, testFn)
   override fun validateMockServerState(testResult: Any?) = baseMockServer.validateMockServerState(testResult)
   override fun updatePact(pact: Pact) = baseMockServer.updatePact(pact)
+
+  /**
+   * Waits for the requests being handled by the mock server to complete
+   */
+  fun awaitRequests() = baseMockServer.awaitRequests()
 }
@@ -0,0 +1,99 @@
+package au.com.dius.pact.consumer.junit5
+
+import au.com.dius.pact.consumer.BaseMockServer
+import au.com.dius.pact.consumer.mockServer
+import au.com.dius.pact.consumer.model.MockHttpsProviderConfig
+import au.com.dius.pact.consumer.model.MockProviderConfig
+import au.com.dius.pact.consumer.model.MockServerExecutor
+import au.com.dius.pact.consumer.model.MockServerImplementation
+import au.com.dius.pact.core.model.BasePact
+import io.github.oshai.kotlinlogging.KLogging
+import org.junit.jupiter.api.extension.ExtensionContext
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedQueue
+
+/**
+ * Pool of running mock servers that are reused between tests. Instead of starting a new mock server for each test, an
+ * idle mock server with the same configuration is given the pact for the test, and is returned to the pool once the
+ * test has been verified. The mock servers are stopped when the test run is finished.
+ *
+ * Pooling is enabled by setting the `pact.mockserver.pool` system property to true. Mock servers using HTTPS or a
+ * plugin are not pooled.
+ */
+class MockServerPool : ExtensionContext.Store.CloseableResource {
+
+  /**
+   * The configuration that determines if a mock server can be reused
+   */
+  private data class Key(
+    val hostname: String,
+    val port: Int,
+    val scheme: String,
+    val implementation: MockServerImplementation,
+    val addCloseHeader: Boolean,
+    val executor: MockServerExecutor,
+    val backlog: Int
+  )
+
+  private val idle = ConcurrentHashMap<Key, ConcurrentLinkedQueue<BaseMockServer>>()
+  private val servers = ConcurrentLinkedQueue<BaseMockServer>()
+
+  /**
+   * Returns a running mock server for the pact. An idle mock server is reused if there is one with the same
+   * configuration, otherwise a new mock server is started.
+   */
+  fun acquire(pact: BasePact, config: MockProviderConfig): BaseMockServer {
+    val key = key(config)
+    val server = idle[key]?.poll()
+    return if (server != null) {
+      logger.debug { "Reusing mock server ${server.getUrl()}" }
+      server.reset(pact)
+      server
+    } else {
+      val newServer = mockServer(pact, config)
+      newServer.start()
+      servers.add(newServer)
+      logger.debug { "Started pooled mock server ${newServer.getUrl()}" }
+      newServer
+    }
+  }
+
+  /**
+   * Returns the mock server to the pool, so it can be used by another test
+   */
+  fun release(server: BaseMockServer) {
+    idle.computeIfAbsent(key(server.config)) { ConcurrentLinkedQueue() }.add(server)
+  }
+
+  /**
+   * Stops all the mock servers
+   */
+  override fun close() {
+    logger.debug { "Stopping ${servers.size} pooled mock servers" }
+    idle.clear()
+    while (true) {
+      val server = servers.poll() ?: break
+      server.stop()
+    }
+  }
+
+  private fun key(config: MockProviderConfig) = Key(config.hostname, config.port, config.scheme,
+    config.mockServerImplementation, config.addCloseHeader, config.executor, config.backlog)
+
+  companion object : KLogging() {
+    const val POOL_PROPERTY = "pact.mockserver.pool"
+
+    /**
+     * If pooling has been enabled with the `pact.mockserver.pool` system property
+     */
+    @JvmStatic
+    fun enabled() = System.getProperty(POOL_PROPERTY)?.trim()?.lowercase() == "true"
+
+    /**
+     * If mock servers for the configuration can be pooled
+     */
+    @JvmStatic
+    fun canPool(config: MockProviderConfig) = config !is MockHttpsProviderConfig &&
+      config.mockServerImplementation != MockServerImplementation.Plugin
+  }
+}
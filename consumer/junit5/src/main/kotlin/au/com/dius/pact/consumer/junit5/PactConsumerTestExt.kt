@@ -245,9 +245,19 @@ class PactConsumerTestExt : Extension, BeforeTestExecutionCallback, BeforeAllCal
       else -> {
         val config = mockServerConfigFromAnnotation(context, providerInfo).merge(providerInfo.mockServerConfig())
         store.put("mockServerConfig:${providerInfo.providerName}", config)
-        val mockServer = mockServer(setupPactForTest(providerInfo, pactMethods, context), config)
-        store.put(key, JUnit5MockServerSupport(mockServer))
-        mockServer
+        val pact = setupPactForTest(providerInfo, pactMethods, context)
+        if (MockServerPool.enabled() && MockServerPool.canPool(config)) {
+          // Pooled mock servers are already running, so the wrapper is returned to not start them again
+          val pool = context.root.getStore(NAMESPACE)
+            .getOrComputeIfAbsent("mockServerPool", { MockServerPool() }, MockServerPool::class.java)
+          val mockServer = JUnit5MockServerSupport(pool.acquire(pact, config), pool)
+          store.put(key, mockServer)
+          mockServer
+        } else {
+          val mockServer = mockServer(pact, config)
+          store.put(key, JUnit5MockServerSupport(mockServer))
+          mockServer
+        }
       }
     }
   }
@@ -620,9 +630,12 @@ class PactConsumerTestExt : Extension, BeforeTestExecutionCallback, BeforeAllCal
       for ((provider, _) in providers) {
         if (store["mockServer:${provider.providerName}"] != null) {
           val mockServer = store["mockServer:${provider.providerName}"] as JUnit5MockServerSupport
-          Thread.sleep(100) // give the mock server some time to have consistent state
-          mockServer.close()
-          val result = mockServer.validateMockServerState(null)
+          mockServer.awaitRequests()
+          val result = try {
+            mockServer.validateMockServerState(null)
+          } finally {
+            mockServer.close()
+          }
           if (result is PactVerificationResult.Ok) {
             if (!context.executionException.isPresent) {
               storePactForWrite(store, provider, mockServer)
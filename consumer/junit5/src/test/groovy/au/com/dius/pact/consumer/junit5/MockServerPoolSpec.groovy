@@ -0,0 +1,101 @@
+package au.com.dius.pact.consumer.junit5
+
+import au.com.dius.pact.consumer.model.MockHttpsProviderConfig
+import au.com.dius.pact.consumer.model.MockProviderConfig
+import au.com.dius.pact.consumer.model.MockServerImplementation
+import au.com.dius.pact.core.model.Consumer
+import au.com.dius.pact.core.model.PactSpecVersion
+import au.com.dius.pact.core.model.Provider
+import au.com.dius.pact.core.model.Request
+import au.com.dius.pact.core.model.RequestResponseInteraction
+import au.com.dius.pact.core.model.RequestResponsePact
+import au.com.dius.pact.core.model.Response
+import spock.lang.Specification
+import spock.lang.Timeout
+
+@Timeout(60)
+class MockServerPoolSpec extends Specification {
+
+  private MockServerPool pool
+  private RequestResponsePact pact1
+  private RequestResponsePact pact2
+
+  def setup() {
+    pool = new MockServerPool()
+    pact1 = new RequestResponsePact(new Provider(), new Consumer(),
+      [new RequestResponseInteraction('one', [], new Request('GET', '/one'), new Response(200))])
+    pact2 = new RequestResponsePact(new Provider(), new Consumer(),
+      [new RequestResponseInteraction('two', [], new Request('GET', '/two'), new Response(200))])
+  }
+
+  def cleanup() {
+    pool.close()
+  }
+
+  def 'released mock servers are reused with the new pact'() {
+    given:
+    def config = MockProviderConfig.createDefault()
+
+    when:
+    def server1 = pool.acquire(pact1, config)
+    new URL(server1.url + '/one').openConnection().responseCode
+    pool.release(server1)
+    def server2 = pool.acquire(pact2, config)
+
+    then:
+    server2.is(server1)
+    server2.pact == pact2
+    server2.matchedRequests.empty
+    new URL(server2.url + '/two').openConnection().responseCode == 200
+  }
+
+  def 'mock servers in use are not shared'() {
+    given:
+    def config = MockProviderConfig.createDefault()
+
+    when:
+    def server1 = pool.acquire(pact1, config)
+    def server2 = pool.acquire(pact2, config)
+
+    then:
+    !server2.is(server1)
+    server1.port != server2.port
+  }
+
+  def 'mock servers are only reused for the same configuration'() {
+    when:
+    def server1 = pool.acquire(pact1, MockProviderConfig.createDefault())
+    pool.release(server1)
+    def ktorConfig = new MockProviderConfig(MockProviderConfig.LOCALHOST, 0, PactSpecVersion.V3, 'http',
+      MockServerImplementation.KTorServer)
+    def server2 = pool.acquire(pact2, ktorConfig)
+
+    then:
+    !server2.is(server1)
+  }
+
+  def 'closing a pooled mock server support returns it to the pool only once'() {
+    given:
+    def config = MockProviderConfig.createDefault()
+    def server = pool.acquire(pact1, config)
+    def support = new JUnit5MockServerSupport(server, pool)
+
+    when:
+    support.close()
+    support.close()
+    def next1 = pool.acquire(pact2, config)
+    def next2 = pool.acquire(pact2, config)
+
+    then:
+    next1.is(server)
+    !next2.is(server)
+  }
+
+  def 'HTTPS and plugin mock servers are not pooled'() {
+    expect:
+    MockServerPool.canPool(MockProviderConfig.createDefault())
+    !MockServerPool.canPool(new MockHttpsProviderConfig())
+    !MockServerPool.canPool(new MockProviderConfig(MockProviderConfig.LOCALHOST, 0, PactSpecVersion.V4, 'http',
+      MockServerImplementation.Plugin))
+  }
+}
@@ -66,6 +66,7 @@ class KTorMockServer @JvmOverloads constructor(
           context.response.header("X-PACT-BOOTCHECK", "true")
           context.respond(HttpStatusCode.OK)
         } else {
+          requestStarted()
           try {
             val request = toPactRequest(context)
             logger.debug { "Received request: $request" }
@@ -76,6 +77,8 @@ class KTorMockServer @JvmOverloads constructor(
             logger.error(e) { "Failed to generate response" }
             pactResponseToKTorResponse(Response(500, mutableMapOf("Content-Type" to listOf("application/json")),
               OptionalBody.body("{\"error\": ${e.message}}".toByteArray(), ContentType.JSON)), context)
+          } finally {
+            requestCompleted()
           }
         }
       }
@@ -145,6 +148,17 @@ class KTorMockServer @JvmOverloads constructor(
 
   override fun getPort() = socketAddress()?.port ?: server.environment.connectors.first().port
 
+  /**
+   * The Netty channels are bound when the server is started
+   */
+  @Suppress("TooGenericExceptionCaught")
+  override fun isBound() = try {
+    socketAddress() != null
+  } catch (e: Exception) {
+    logger.debug(e) { "Could not get the address of the mock server" }
+    false
+  }
+
   override fun updatePact(pact: Pact): Pact {
     return if (pact.isV4Pact()) {
       when (val p = pact.asV4Pact()) {
@@ -3,11 +3,11 @@ package au.com.dius.pact.consumer
 import au.com.dius.pact.consumer.model.MockHttpsProviderConfig
 import au.com.dius.pact.consumer.model.MockProviderConfig
 import au.com.dius.pact.consumer.model.MockServerImplementation
-import au.com.dius.pact.core.matchers.generators.DefaultResponseGenerator
 import au.com.dius.pact.core.matchers.FullRequestMatch
 import au.com.dius.pact.core.matchers.PartialRequestMatch
 import au.com.dius.pact.core.matchers.RequestMatching
 import au.com.dius.pact.core.matchers.generators.ArrayContainsJsonGenerator
+import au.com.dius.pact.core.matchers.generators.ResponseGenerationPlan
 import au.com.dius.pact.core.model.BasePact
 import au.com.dius.pact.core.model.DefaultPactWriter
 import au.com.dius.pact.core.model.IRequest
@@ -43,12 +43,17 @@ import org.apache.hc.core5.http.ContentType
 import org.apache.hc.core5.http.config.RegistryBuilder
 import org.apache.hc.core5.ssl.SSLContexts
 import org.apache.hc.core5.util.TimeValue
-import java.lang.Thread.sleep
 import java.nio.charset.Charset
+import java.util.IdentityHashMap
 import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.locks.ReentrantLock
 import java.util.zip.DeflaterInputStream
 import java.util.zip.GZIPInputStream
+import kotlin.concurrent.withLock
 
 /**
  * Returns a mock server for the pact and config
@@ -108,13 +113,37 @@ abstract class AbstractBaseMockServer : MockServer {
   }
 }
 
-abstract class BaseMockServer(val pact: BasePact, val config: MockProviderConfig) : AbstractBaseMockServer() {
+abstract class BaseMockServer(pact: BasePact, val config: MockProviderConfig) : AbstractBaseMockServer() {
+
+  /**
+   * The pact the mock server is serving. A running mock server can be given a new pact with [reset].
+   */
+  @Volatile
+  var pact: BasePact = pact
+    private set
 
   val mismatchedRequests = ConcurrentHashMap<IRequest, MutableList<PactVerificationResult>>()
   val matchedRequests = ConcurrentLinkedQueue<Pair<IRequest, IRequest>>()
-  private val requestMatcher = RequestMatching(pact)
+  @Volatile
+  private var requestMatcher = RequestMatching(pact)
+  @Volatile
+  private var responsePlans = IdentityHashMap<IResponse, ResponseGenerationPlan>()
+  private val activeRequests = AtomicInteger()
+  private val requestsLock = ReentrantLock()
+  private val requestsCompleted = requestsLock.newCondition()
+
+  /**
+   * Returns true if the server socket is bound, so the server is accepting connections. If the server can't tell, the
+   * server is checked by sending it a boot check request.
+   */
+  protected open fun isBound() = false
 
   override fun waitForServer() {
+    if (isBound()) {
+      logger.debug { "Mock server is bound to ${getUrl()}" }
+      return
+    }
+
     val sslcontext = SSLContexts.custom().loadTrustMaterial(TrustSelfSignedStrategy()).build()
     val sslSocketFactory = SSLConnectionSocketFactoryBuilder.create()
       .setSslContext(sslcontext).build()
@@ -145,7 +174,7 @@ abstract class BaseMockServer(val pact: BasePact, val config: MockProviderConfig
     val testResult: R
     try {
       testResult = testFn.run(this, context)
-      sleep(100) // give the mock server some time to have consistent state
+      awaitRequests()
     } catch (e: Throwable) {
       logger.debug(e) { "Caught exception in mock server" }
       return PactVerificationResult.Error(e, validateMockServerState(null))
@@ -196,32 +225,93 @@ abstract class BaseMockServer(val pact: BasePact, val config: MockProviderConfig
     return PactVerificationResult.Ok(testResult)
   }
 
+  /**
+   * Replaces the pact and clears the matched and mismatched requests, so a running mock server can be used for another
+   * test
+   */
+  @Synchronized
+  fun reset(pact: BasePact) {
+    awaitRequests()
+    requestMatcher = RequestMatching(pact)
+    responsePlans = IdentityHashMap()
+    this.pact = pact
+    mismatchedRequests.clear()
+    matchedRequests.clear()
+  }
+
+  /**
+   * Marks the start of handling a request, so [awaitRequests] waits for it to complete
+   */
+  protected fun requestStarted() {
+    activeRequests.incrementAndGet()
+  }
+
+  /**
+   * Marks that the response for a request has been sent
+   */
+  protected fun requestCompleted() {
+    if (activeRequests.decrementAndGet() == 0) {
+      requestsLock.withLock { requestsCompleted.signalAll() }
+    }
+  }
+
+  /**
+   * Waits until the requests being handled by the mock server have completed, or the timeout expires, so the
+   * matched and mismatched requests are consistent. Returns false if the timeout expired.
+   */
+  @JvmOverloads
+  fun awaitRequests(timeoutMs: Long = REQUEST_COMPLETION_TIMEOUT_MS): Boolean {
+    var remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMs)
+    requestsLock.withLock {
+      while (activeRequests.get() > 0) {
+        if (remaining <= 0) {
+          logger.warn { "Timed out waiting for ${activeRequests.get()} requests to the mock server to complete" }
+          return false
+        }
+        remaining = requestsCompleted.awaitNanos(remaining)
+      }
+    }
+    return true
+  }
+
   protected fun generatePactResponse(request: IRequest): IResponse {
     when (val matchResult = requestMatcher.matchInteraction(request)) {
       is FullRequestMatch -> {
         val interaction = matchResult.interaction
         matchedRequests.add(interaction.request to request)
-        return DefaultResponseGenerator.generateResponse(interaction.response,
-          mutableMapOf(
-            "mockServer" to mapOf("href" to getUrl(), "port" to getPort()),
-            "ArrayContainsJsonGenerator" to ArrayContainsJsonGenerator
-        ), GeneratorTestMode.Consumer, emptyList(), emptyMap()) // TODO: need to pass any plugin config here
+        val context = mutableMapOf<String, Any>(
+          "mockServer" to mapOf("href" to getUrl(), "port" to getPort()),
+          "ArrayContainsJsonGenerator" to ArrayContainsJsonGenerator
+        )
+        // TODO: need to pass any plugin config here
+        return responsePlan(interaction.response, context)
+          .generate(context, GeneratorTestMode.Consumer, emptyList(), emptyMap())
       }
       is PartialRequestMatch -> {
         logger.error { "PartialRequestMatch: ${matchResult.description()}" }
         val interaction = matchResult.problems.keys.first().asSynchronousRequestResponse()!!
-        mismatchedRequests.putIfAbsent(interaction.request, mutableListOf())
-        mismatchedRequests[interaction.request]?.add(PactVerificationResult.PartialMismatch(
-          matchResult.problems[interaction]!!.mismatches))
+        mismatchedRequests.computeIfAbsent(interaction.request) { CopyOnWriteArrayList() }
+          .add(PactVerificationResult.PartialMismatch(matchResult.problems[interaction]!!.mismatches))
       }
       else -> {
-        mismatchedRequests.putIfAbsent(request, mutableListOf())
-        mismatchedRequests[request]?.add(PactVerificationResult.UnexpectedRequest(request))
+        mismatchedRequests.computeIfAbsent(request) { CopyOnWriteArrayList() }
+          .add(PactVerificationResult.UnexpectedRequest(request))
       }
     }
     return invalidResponse(request)
   }
 
+  /**
+   * Returns the generation plan for the response of an interaction, so the generators are only resolved the first time
+   * the interaction is matched
+   */
+  private fun responsePlan(response: IResponse, context: Map<String, Any>): ResponseGenerationPlan {
+    val plans = responsePlans
+    return synchronized(plans) {
+      plans.getOrPut(response) { ResponseGenerationPlan(response, context) }
+    }
+  }
+
   private fun invalidResponse(request: IRequest): IResponse {
     val body = "{ \"error\": \"Unexpected request : ${StringEscapeUtils.escapeJson(request.toString())}\" }"
     return Response(500,
@@ -235,7 +325,9 @@ abstract class BaseMockServer(val pact: BasePact, val config: MockProviderConfig
     )
   }
 
-  companion object : KLogging()
+  companion object : KLogging() {
+    private const val REQUEST_COMPLETION_TIMEOUT_MS = 5000L
+  }
 }
 
 abstract class BaseJdkMockServer(
@@ -244,6 +336,8 @@ abstract class BaseJdkMockServer(
   private val server: HttpServer,
   private var stopped: Boolean = false
 ) : HttpHandler, BaseMockServer(pact, config) {
+  @Volatile
+  private var started = false
 
   @Suppress("TooGenericExceptionCaught")
   override fun handle(exchange: HttpExchange) {
@@ -252,6 +346,7 @@ abstract class BaseJdkMockServer(
       exchange.sendResponseHeaders(200, 0)
       exchange.close()
     } else {
+      requestStarted()
       try {
         val request = toPactRequest(exchange)
         logger.debug { "Received request: $request" }
@@ -267,6 +362,8 @@ abstract class BaseJdkMockServer(
           OptionalBody.body("{\"error\": ${e.message}}".toByteArray(),
             au.com.dius.pact.core.model.ContentType.JSON)
         ), exchange)
+      } finally {
+        requestCompleted()
       }
     }
   }
@@ -314,13 +411,20 @@ abstract class BaseJdkMockServer(
     }
   }
 
+  private val executor = config.executor.createExecutor()
+
   private fun initServer() {
     server.createContext("/", this)
+    if (executor != null) {
+      logger.debug { "Mock server will handle requests with the ${config.executor} executor" }
+      server.executor = executor
+    }
   }
 
   override fun start() {
     logger.debug { "Starting mock server" }
     server.start()
+    started = true
     logger.debug { "Mock server started: ${server.address}" }
   }
 
@@ -328,6 +432,7 @@ abstract class BaseJdkMockServer(
     if (!stopped) {
       stopped = true
       server.stop(0)
+      executor?.shutdown()
       logger.debug { "Mock server shutdown" }
     }
   }
@@ -348,11 +453,16 @@ abstract class BaseJdkMockServer(
 
   override fun getPort(): Int = server.address.port
 
+  /**
+   * The JDK server socket is bound when the server is created, so it is accepting connections once it is started
+   */
+  override fun isBound() = started && !stopped && server.address != null
+
   companion object : KLogging()
 }
 
 open class MockHttpServer(pact: BasePact, config: MockProviderConfig) :
-  BaseJdkMockServer(pact, config, HttpServer.create(config.address(), 0)) {
+  BaseJdkMockServer(pact, config, HttpServer.create(config.address(), config.backlog)) {
   override fun updatePact(pact: Pact): Pact {
     return if (pact.isV4Pact()) {
       when (val p = pact.asV4Pact()) {
@@ -371,7 +481,7 @@ open class MockHttpServer(pact: BasePact, config: MockProviderConfig) :
 }
 
 open class MockHttpsServer(pact: BasePact, config: MockProviderConfig) :
-  BaseJdkMockServer(pact, config, HttpsServer.create(config.address(), 0)) {
+  BaseJdkMockServer(pact, config, HttpsServer.create(config.address(), config.backlog)) {
   override fun updatePact(pact: Pact): Pact {
     return if (pact.isV4Pact()) {
       when (val p = pact.asV4Pact()) {
@@ -12,8 +12,11 @@ class MockHttpsKeystoreProviderConfig(
   override val hostname: String = LOCALHOST,
   override val port: Int = 0,
   override val pactVersion: PactSpecVersion = PactSpecVersion.V3,
-  override val scheme: String = "https"
-) : MockProviderConfig(hostname, port, pactVersion, scheme) {
+  override val scheme: String = "https",
+  override val executor: MockServerExecutor = MockServerExecutor.fromSystemProperty(),
+  override val backlog: Int = Integer.getInteger(BACKLOG_PROPERTY, 0)
+) : MockProviderConfig(hostname, port, pactVersion, scheme, MockServerImplementation.Default, false, "", executor,
+  backlog) {
 
   companion object {
 
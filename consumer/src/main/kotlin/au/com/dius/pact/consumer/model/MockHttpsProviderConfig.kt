@@ -16,8 +16,10 @@ class MockHttpsProviderConfig @JvmOverloads constructor(
   val keyStoreAlias: String = "alias",
   val keystorePassword: String = "changeme",
   val privateKeyPassword: String = "changeme",
-  override val mockServerImplementation: MockServerImplementation = MockServerImplementation.KTorServer
-) : MockProviderConfig(hostname, port, pactVersion, "https", mockServerImplementation) {
+  override val mockServerImplementation: MockServerImplementation = MockServerImplementation.KTorServer,
+  override val executor: MockServerExecutor = MockServerExecutor.fromSystemProperty(),
+  override val backlog: Int = Integer.getInteger(BACKLOG_PROPERTY, 0)
+) : MockProviderConfig(hostname, port, pactVersion, "https", mockServerImplementation, false, "", executor, backlog) {
 
   @Suppress("ComplexMethod")
   override fun mergeWith(config: MockProviderConfig): MockProviderConfig {
@@ -34,7 +36,9 @@ class MockHttpsProviderConfig @JvmOverloads constructor(
         if (privateKeyPassword.isEmpty() || privateKeyPassword == "changeme")
           config.privateKeyPassword
         else privateKeyPassword,
-        mockServerImplementation
+        mockServerImplementation,
+        if (executor == MockServerExecutor.Dispatcher) config.executor else executor,
+        if (backlog == 0) config.backlog else backlog
       )
     } else {
       MockHttpsProviderConfig(
@@ -45,7 +49,9 @@ class MockHttpsProviderConfig @JvmOverloads constructor(
         keyStoreAlias,
         keystorePassword,
         privateKeyPassword,
-        mockServerImplementation
+        mockServerImplementation,
+        if (executor == MockServerExecutor.Dispatcher) config.executor else executor,
+        if (backlog == 0) config.backlog else backlog
       )
     }
   }
@@ -52,7 +52,16 @@ open class MockProviderConfig @JvmOverloads constructor (
   open val scheme: String = HTTP,
   open val mockServerImplementation: MockServerImplementation = MockServerImplementation.Default,
   open val addCloseHeader: Boolean = false,
-  open val transportRegistryEntry: String = ""
+  open val transportRegistryEntry: String = "",
+  /**
+   * How requests are executed by the JDK based mock server. Defaults to the pact.mockserver.executor system property.
+   */
+  open val executor: MockServerExecutor = MockServerExecutor.fromSystemProperty(),
+  /**
+   * Maximum number of pending connections for the JDK based mock server (0 uses the system default). Defaults to the
+   * pact.mockserver.backlog system property.
+   */
+  open val backlog: Int = Integer.getInteger(BACKLOG_PROPERTY, 0)
 ) {
 
   fun url(): String {
@@ -90,7 +99,9 @@ open class MockProviderConfig @JvmOverloads constructor (
           config.mockServerImplementation
         else mockServerImplementation,
         addCloseHeader,
-        transportRegistryEntry.ifEmpty { config.transportRegistryEntry }
+        transportRegistryEntry.ifEmpty { config.transportRegistryEntry },
+        if (executor == MockServerExecutor.Dispatcher) config.executor else executor,
+        if (backlog == 0) config.backlog else backlog
       )
     }
   }
@@ -98,6 +109,7 @@ open class MockProviderConfig @JvmOverloads constructor (
   companion object {
     const val LOCALHOST = "127.0.0.1"
     const val HTTP = "http"
+    const val BACKLOG_PROPERTY = "pact.mockserver.backlog"
 
     @JvmStatic
     @JvmOverloads
@@ -106,9 +118,11 @@ open class MockProviderConfig @JvmOverloads constructor (
       port: Int = 0,
       pactVersion: PactSpecVersion = PactSpecVersion.V3,
       implementation: MockServerImplementation = MockServerImplementation.JavaHttpServer,
-      addCloseHeader: Boolean = System.getProperty("pact.mockserver.addCloseHeader") == "true"
+      addCloseHeader: Boolean = System.getProperty("pact.mockserver.addCloseHeader") == "true",
+      executor: MockServerExecutor = MockServerExecutor.fromSystemProperty(),
+      backlog: Int = Integer.getInteger(BACKLOG_PROPERTY, 0)
     ) = MockProviderConfig(hostname, port, pactVersion, HTTP,
-      implementation.merge(MockServerImplementation.JavaHttpServer), addCloseHeader)
+      implementation.merge(MockServerImplementation.JavaHttpServer), addCloseHeader, "", executor, backlog)
 
     @JvmStatic
     fun createDefault() = createDefault(LOCALHOST, PactSpecVersion.V3)
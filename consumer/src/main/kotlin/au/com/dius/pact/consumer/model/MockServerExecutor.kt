@@ -0,0 +1,103 @@
+package au.com.dius.pact.consumer.model
+
+import io.github.oshai.kotlinlogging.KLogging
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.ThreadFactory
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * How the requests received by the JDK based mock server are executed
+ */
+sealed class MockServerExecutor {
+  /**
+   * Requests are handled on the dispatcher thread of the server, one at a time
+   */
+  object Dispatcher : MockServerExecutor() {
+    override fun createExecutor(): ExecutorService? = null
+    override fun toString() = "dispatcher"
+  }
+
+  /**
+   * Requests are handled by a fixed size pool of threads
+   */
+  data class FixedPool(val threads: Int) : MockServerExecutor() {
+    init {
+      require(threads > 0) { "The number of threads for the mock server must be greater than zero" }
+    }
+
+    override fun createExecutor(): ExecutorService = Executors.newFixedThreadPool(threads, threadFactory())
+    override fun toString() = "fixed:$threads"
+  }
+
+  /**
+   * Requests are handled by a pool of threads that grows as needed
+   */
+  object CachedPool : MockServerExecutor() {
+    override fun createExecutor(): ExecutorService = Executors.newCachedThreadPool(threadFactory())
+    override fun toString() = "cached"
+  }
+
+  /**
+   * Each request is handled by a new virtual thread. This requires JDK 21+, otherwise a cached thread pool is used.
+   */
+  object VirtualThreads : MockServerExecutor() {
+    @Suppress("TooGenericExceptionCaught")
+    override fun createExecutor(): ExecutorService {
+      return try {
+        Executors::class.java.getMethod("newVirtualThreadPerTaskExecutor").invoke(null) as ExecutorService
+      } catch (e: Exception) {
+        logger.warn { "Virtual threads are not supported by this JVM (${e.message}), using a cached thread pool" }
+        CachedPool.createExecutor()
+      }
+    }
+    override fun toString() = "virtual"
+  }
+
+  /**
+   * Creates the executor to set on the server. Returns null if the default dispatcher thread should be used.
+   */
+  abstract fun createExecutor(): ExecutorService?
+
+  companion object : KLogging() {
+    const val EXECUTOR_PROPERTY = "pact.mockserver.executor"
+    private val threadCount = AtomicInteger()
+
+    /**
+     * Parses the executor strategy. Valid values are `dispatcher`, `cached`, `virtual` and `fixed:<threads>`.
+     */
+    @JvmStatic
+    fun parse(value: String): MockServerExecutor {
+      val strategy = value.trim().lowercase()
+      return when {
+        strategy.isEmpty() || strategy == "dispatcher" -> Dispatcher
+        strategy == "cached" -> CachedPool
+        strategy == "virtual" -> VirtualThreads
+        strategy.startsWith("fixed:") -> {
+          val threads = strategy.substringAfter(':').toIntOrNull()
+            ?: throw IllegalArgumentException("'$value' is not a valid mock server executor, the number of " +
+              "threads for a fixed pool must be a number")
+          FixedPool(threads)
+        }
+        else -> throw IllegalArgumentException("'$value' is not a valid mock server executor, valid values are " +
+          "dispatcher, cached, virtual or fixed:<threads>")
+      }
+    }
+
+    /**
+     * Returns the executor strategy set with the pact.mockserver.executor system property, or the dispatcher thread
+     * if it is not set
+     */
+    @JvmStatic
+    fun fromSystemProperty(): MockServerExecutor {
+      val value = System.getProperty(EXECUTOR_PROPERTY)
+      return if (value.isNullOrEmpty()) Dispatcher else parse(value)
+    }
+
+    private fun threadFactory() = ThreadFactory { runnable ->
+      val thread = Thread(runnable, "pact-mock-server-${threadCount.incrementAndGet()}")
+      thread.isDaemon = true
+      thread
+    }
+  }
+}
@@ -2,8 +2,14 @@ package au.com.dius.pact.consumer
 
 import au.com.dius.pact.core.model.Consumer
 import au.com.dius.pact.consumer.model.MockProviderConfig
+import au.com.dius.pact.consumer.model.MockServerExecutor
+import au.com.dius.pact.consumer.model.MockServerImplementation
+import au.com.dius.pact.core.model.PactSpecVersion
 import au.com.dius.pact.core.model.Provider
+import au.com.dius.pact.core.model.Request
+import au.com.dius.pact.core.model.RequestResponseInteraction
 import au.com.dius.pact.core.model.RequestResponsePact
+import au.com.dius.pact.core.model.Response
 import com.sun.net.httpserver.HttpExchange
 import spock.lang.IgnoreIf
 import spock.lang.Issue
@@ -11,6 +17,9 @@ import spock.lang.Specification
 import spock.lang.Timeout
 import spock.lang.Unroll
 
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
 import static au.com.dius.pact.consumer.MockHttpServerKt.mockServer
 
 class MockHttpServerSpec extends Specification {
@@ -120,4 +129,109 @@ class MockHttpServerSpec extends Specification {
     KTorMockServer  | 'ip6-localhost' | 0
     KTorMockServer  | 'ip6-localhost' | 2236
   }
+
+  @Timeout(60)
+  def 'records matched and mismatched requests correctly when handling requests concurrently'() {
+    given:
+    def interaction = new RequestResponseInteraction('test', [], new Request('GET', '/ok'), new Response(200))
+    def pact = new RequestResponsePact(new Provider(), new Consumer(), [interaction])
+    def config = new MockProviderConfig(MockProviderConfig.LOCALHOST, 0, PactSpecVersion.V3, 'http',
+      MockServerImplementation.JavaHttpServer, false, '', new MockServerExecutor.FixedPool(8), 100)
+    def mockServer = new MockHttpServer(pact, config)
+    def pool = Executors.newFixedThreadPool(8)
+    mockServer.start()
+
+    when:
+    def statuses = (1..40).collect { i ->
+      pool.submit({
+        def connection = new URL(mockServer.url + (i % 2 == 0 ? '/ok' : "/unexpected/$i")).openConnection()
+        connection.responseCode
+      } as Callable)
+    }*.get()
+
+    then:
+    statuses.count { it == 200 } == 20
+    statuses.count { it == 500 } == 20
+    mockServer.matchedRequests.size() == 20
+    mockServer.mismatchedRequests.size() == 20
+    mockServer.mismatchedRequests.values().flatten().size() == 20
+
+    cleanup:
+    pool.shutdown()
+    mockServer.stop()
+  }
+
+  @Timeout(60)
+  def 'a running mock server can be reset with a new pact'() {
+    given:
+    def pact1 = new RequestResponsePact(new Provider(), new Consumer(),
+      [new RequestResponseInteraction('one', [], new Request('GET', '/one'), new Response(200))])
+    def pact2 = new RequestResponsePact(new Provider(), new Consumer(),
+      [new RequestResponseInteraction('two', [], new Request('GET', '/two'), new Response(201))])
+    def mockServer = new MockHttpServer(pact1, MockProviderConfig.createDefault())
+    mockServer.start()
+    mockServer.waitForServer()
+
+    when:
+    def status1 = new URL(mockServer.url + '/two').openConnection().responseCode
+    def stateBeforeReset = mockServer.validateMockServerState(null)
+    mockServer.reset(pact2)
+    def status2 = new URL(mockServer.url + '/two').openConnection().responseCode
+    mockServer.awaitRequests()
+    def stateAfterReset = mockServer.validateMockServerState(null)
+
+    then:
+    status1 == 500
+    stateBeforeReset instanceof PactVerificationResult.Mismatches
+    status2 == 201
+    stateAfterReset instanceof PactVerificationResult.Ok
+    mockServer.pact == pact2
+
+    cleanup:
+    mockServer.stop()
+  }
+
+  def 'the JDK mock server is bound once it is started'() {
+    given:
+    def mockServer = new MockHttpServer(new RequestResponsePact(new Provider(), new Consumer(), []),
+      MockProviderConfig.createDefault())
+
+    expect:
+    !mockServer.isBound()
+
+    when:
+    mockServer.start()
+
+    then:
+    mockServer.isBound()
+
+    when:
+    mockServer.stop()
+
+    then:
+    !mockServer.isBound()
+  }
+
+  @Unroll
+  def 'parses the mock server executor "#value"'() {
+    expect:
+    MockServerExecutor.parse(value) == executor
+
+    where:
+
+    value       | executor
+    ''          | MockServerExecutor.Dispatcher.INSTANCE
+    'dispatcher'| MockServerExecutor.Dispatcher.INSTANCE
+    'cached'    | MockServerExecutor.CachedPool.INSTANCE
+    'Virtual'   | MockServerExecutor.VirtualThreads.INSTANCE
+    'fixed:4'   | new MockServerExecutor.FixedPool(4)
+  }
+
+  def 'an invalid mock server executor is an error'() {
+    when:
+    MockServerExecutor.parse('fixed:lots')
+
+    then:
+    thrown(IllegalArgumentException)
+  }
 }
@@ -24,8 +24,8 @@ class FormPostContentMatcher : ContentMatcher {
               null, "Expected a form post body but was missing")))))
       expectedBody.isEmpty() && actualBody.isEmpty() -> BodyMatchResult(null, emptyList())
       else -> {
-        val expectedParameters = WWWFormCodec.parse(expectedBody.valueAsString(), expected.contentType.asCharset())
-        val actualParameters = WWWFormCodec.parse(actualBody.valueAsString(), actual.contentType.asCharset())
+        val expectedParameters = parse(expectedBody)
+        val actualParameters = parse(actualBody)
         BodyMatchResult(null, compareParameters(expectedParameters, actualParameters, context))
       }
     }
@@ -40,6 +40,10 @@ class FormPostContentMatcher : ContentMatcher {
       ))))
   }
 
+  private fun parse(body: OptionalBody): List<NameValuePair> = body.parsedValue("form") {
+    WWWFormCodec.parse(it.valueAsString(), it.contentType.asCharset())
+  }
+
   @Suppress("LongMethod")
   private fun compareParameters(
     expectedParameters: List<NameValuePair>,
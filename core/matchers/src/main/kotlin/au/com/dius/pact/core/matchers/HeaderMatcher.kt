@@ -3,6 +3,7 @@ package au.com.dius.pact.core.matchers
 import io.github.oshai.kotlinlogging.KLogging
 
 object HeaderMatcher : KLogging() {
+  private val commaWhiteSpace = Regex(",\\s*")
 
   fun matchHeaderWithParameters(headerKey: String, expected: String, actual: String): HeaderMismatch? {
     logger.debug { "Comparing $headerKey header: '$actual' to '$expected'" }
@@ -34,7 +35,7 @@ object HeaderMatcher : KLogging() {
       .associate { it.first() to it.component2() }
   }
 
-  fun stripWhiteSpaceAfterCommas(str: String): String = Regex(",\\s*").replace(str, ",")
+  fun stripWhiteSpaceAfterCommas(str: String): String = commaWhiteSpace.replace(str, ",")
 
   /**
    * Compares the expected header value to the actual, delegating to any matching rules if present
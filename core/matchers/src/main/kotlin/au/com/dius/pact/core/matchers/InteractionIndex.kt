@@ -0,0 +1,73 @@
+package au.com.dius.pact.core.matchers
+
+import au.com.dius.pact.core.model.IRequest
+import au.com.dius.pact.core.model.Interaction
+
+/**
+ * Index of the synchronous request/response interactions of a pact, keyed by request method and path. Only
+ * interactions with a matching method and path can result in a full or partial request match, so matching an incoming
+ * request only has to run the full comparison against the candidates returned from this index.
+ *
+ * Interactions with a path that has a matching rule or that is not a literal value (the expected path is also applied
+ * as a regular expression when comparing paths) are kept in a fallback bucket per method, and are always returned as
+ * candidates for that method.
+ */
+class InteractionIndex(val interactions: List<Interaction>) {
+  private class MethodBucket {
+    val literalPaths = HashMap<String, MutableList<Int>>()
+    val fallback = mutableListOf<Int>()
+  }
+
+  private val buckets = HashMap<String, MethodBucket>()
+  private val size = interactions.size
+
+  init {
+    interactions.forEachIndexed { index, interaction ->
+      if (interaction.isSynchronousRequestResponse()) {
+        val request = interaction.asSynchronousRequestResponse()!!.request
+        val bucket = buckets.getOrPut(request.method.uppercase()) { MethodBucket() }
+        if (isLiteralPath(request)) {
+          bucket.literalPaths.getOrPut(request.path) { mutableListOf() }.add(index)
+        } else {
+          bucket.fallback.add(index)
+        }
+      }
+    }
+  }
+
+  /**
+   * If this index was built from the current interactions
+   */
+  fun isCurrent(interactions: List<Interaction>) = this.interactions === interactions && interactions.size == size
+
+  /**
+   * Returns the interactions that could match the request, in the order they are defined in the pact
+   */
+  fun candidates(request: IRequest): List<Interaction> {
+    val bucket = buckets[request.method.uppercase()] ?: return emptyList()
+    val literal = bucket.literalPaths[request.path.replaceFirst(Matching.pathFilter, "")] ?: emptyList<Int>()
+    val fallback = bucket.fallback
+
+    val result = ArrayList<Interaction>(literal.size + fallback.size)
+    var i = 0
+    var j = 0
+    while (i < literal.size || j < fallback.size) {
+      result.add(if (j >= fallback.size || (i < literal.size && literal[i] < fallback[j])) {
+        interactions[literal[i++]]
+      } else {
+        interactions[fallback[j++]]
+      })
+    }
+    return result
+  }
+
+  companion object {
+    private const val REGEX_CHARS = "\\^$.|?*+()[]{}"
+
+    private fun isLiteralPath(request: IRequest): Boolean {
+      val pathRules = request.matchingRules.hasCategory("path") &&
+        request.matchingRules.rulesForCategory("path").isNotEmpty()
+      return !pathRules && request.path.none { REGEX_CHARS.contains(it) }
+    }
+  }
+}
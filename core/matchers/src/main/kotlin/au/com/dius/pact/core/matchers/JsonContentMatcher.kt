@@ -33,8 +33,7 @@ object JsonContentMatcher : ContentMatcher, KLogging() {
         BodyMatchResult(null, listOf(BodyItemMatchResult("$",
           listOf(BodyMismatch(expected.valueAsString(), null, "Expected body '${expected.value}' but was missing")))))
       else -> {
-        BodyMatchResult(null, compare(listOf("$"), JsonParser.parseString(expected.valueAsString()),
-          JsonParser.parseString(actual.valueAsString()), context))
+        BodyMatchResult(null, compare(listOf("$"), parse(expected), parse(actual), context))
       }
     }
   }
@@ -50,6 +49,11 @@ object JsonContentMatcher : ContentMatcher, KLogging() {
     )))
   }
 
+  /**
+   * Parses the body, using the parsed value cached on the body if it has already been parsed
+   */
+  fun parse(body: OptionalBody): JsonValue = body.parsedValue("json") { JsonParser.parseString(it.valueAsString()) }
+
   private fun valueOf(value: Any?) = when (value) {
     is String -> "'$value'"
     is JsonValue.StringValue -> "'${value.asString()}'"
@@ -30,6 +30,7 @@ import au.com.dius.pact.core.model.matchingrules.TimeMatcher
 import au.com.dius.pact.core.model.matchingrules.TimestampMatcher
 import au.com.dius.pact.core.model.matchingrules.TypeMatcher
 import au.com.dius.pact.core.model.matchingrules.ValuesMatcher
+import au.com.dius.pact.core.support.RegexCache
 import au.com.dius.pact.core.support.json.JsonValue
 import com.github.zafarkhaja.semver.UnexpectedCharacterException
 import com.github.zafarkhaja.semver.Version
@@ -146,7 +147,7 @@ fun <M : Mismatch> domatch(
 ): List<M> {
   logger.debug { "Matching value $actual at $path with $matcher" }
   return when (matcher) {
-    is RegexMatcher -> matchRegex(matcher.regex, path, expected, actual, mismatchFn)
+    is RegexMatcher -> matchRegex(matcher.compiledRegex, path, expected, actual, mismatchFn)
     is TypeMatcher -> matchType(path, expected, actual, mismatchFn, true)
     is NumberTypeMatcher -> matchNumber(matcher.numberType, path, expected, actual, mismatchFn)
     is DateMatcher -> matchDate(matcher.format, path, expected, actual, mismatchFn)
@@ -203,15 +204,23 @@ fun <M : Mismatch> matchEquality(
   }
 }
 
-@Suppress("ComplexCondition")
 fun <M : Mismatch> matchRegex(
   regex: String,
   path: List<String>,
   expected: Any?,
   actual: Any?,
   mismatchFactory: MismatchFactory<M>
+) = matchRegex(RegexCache.regex(regex), path, expected, actual, mismatchFactory)
+
+@Suppress("ComplexCondition")
+fun <M : Mismatch> matchRegex(
+  regex: Regex,
+  path: List<String>,
+  expected: Any?,
+  actual: Any?,
+  mismatchFactory: MismatchFactory<M>
 ): List<M> {
-  val matches = if (actual == null || actual is JsonValue.Null) false else safeToString(actual).matches(Regex(regex))
+  val matches = if (actual == null || actual is JsonValue.Null) false else safeToString(actual).matches(regex)
   logger.debug { "comparing ${valueOf(actual)} with regexp $regex at $path -> $matches" }
   return if (matches ||
     expected is List<*> && actual is List<*> ||
@@ -1,7 +1,6 @@
 package au.com.dius.pact.core.matchers
 
-import au.com.dius.pact.core.matchers.util.IndicesCombination
-import au.com.dius.pact.core.matchers.util.LargestKeyValue
+import au.com.dius.pact.core.matchers.util.BipartiteMatching
 import au.com.dius.pact.core.matchers.util.memoizeFixed
 import au.com.dius.pact.core.matchers.util.padTo
 import au.com.dius.pact.core.model.PathToken
@@ -21,7 +20,6 @@ import au.com.dius.pact.core.model.matchingrules.ValuesMatcher
 import au.com.dius.pact.core.model.parsePath
 import au.com.dius.pact.core.support.Either
 import io.github.oshai.kotlinlogging.KLogging
-import java.math.BigInteger
 import java.util.Comparator
 
 @Suppress("TooManyFunctions")
@@ -270,7 +268,16 @@ object Matchers : KLogging() {
   }
 
   /**
-   * Compares every permutation of actual against expected.
+   * Compares the actual elements against expected ignoring the order. Each expected element must match a different
+   * actual element, and any extra actual elements must match the matchers defined for their index.
+   *
+   * This is solved as a bipartite matching between the expected and actual elements (see [BipartiteMatching]). Extra
+   * actual elements are handled by adding a placeholder expected element for each one, which can only be matched to
+   * actual elements that have no mismatches of their own. The lists match if every actual element is matched.
+   *
+   * Elements are first paired by index, so lists that are already in order only need O(n) comparisons. Otherwise, the
+   * comparisons are only done for the elements that the search needs, up to O(n^2), and the search itself takes
+   * O(n^2 * sqrt(n)) time in the worst case.
    */
   @Suppress("LongParameterList")
   fun <T> compareListContentUnordered(
@@ -285,70 +292,51 @@ object Matchers : KLogging() {
       compareActualElements(path, actualIndex, expectedList, actualList[actualIndex], context, callback)
     }.memoizeFixed(actualList.size)
 
-    val memoizedCompare = { expectedIndex: Int, actualIndex: Int ->
+    val compare = { expectedIndex: Int, actualIndex: Int ->
       callback(path + expectedIndex.toString(), expectedList[expectedIndex], actualList[actualIndex], context)
     }.memoizeFixed(expectedList.size, actualList.size)
+    val matches = { expectedIndex: Int, actualIndex: Int ->
+      compare(expectedIndex, actualIndex).all { it.result.isEmpty() }
+    }
 
-    val longestMatch = LargestKeyValue<Int, IndicesCombination>()
-    val examinedActualIndicesCombos = HashSet<BigInteger>()
-    /**
-     * Determines if a matching permutation exists.
-     *
-     * Note: this algorithm seems to have a worst case O(n*2^n) time and O(2^n) space complexity
-     * if a lot of the actuals match a lot of the expected (e.g., if expected uses regex matching
-     * with something like [3|2|1, 2|1, 1]). Without the caching, the time complexity jumps to
-     * around O(2^2n). Caching/memoization is also used above for compare, to effectively achieve
-     * just O(n^2) calls instead of O(2^n).
-     *
-     * For most normal cases, average performance should be closer to O(n^2) time and O(n) space
-     * complexity if there aren't many duplicate matches. Best case is O(n)/O(n) if its already
-     * in order.
-     *
-     * @param expectedIndex index of expected being compared against
-     * @param actualIndices combination of remaining actual indices to compare
-     */
-    fun hasMatchingPermutation(
-      expectedIndex: Int = 0,
-      actualIndices: IndicesCombination = IndicesCombination.of(actualList.size)
-    ): Boolean {
-      return if (actualIndices.comboId in examinedActualIndicesCombos) {
-        false
+    val extraActuals = (actualList.size - expectedList.size).coerceAtLeast(0)
+    val unmatchedExtraActuals by lazy {
+      actualList.indices.filter { actualIndex -> memoizedActualCompare(actualIndex).all { it.result.isEmpty() } }
+        .toIntArray()
+    }
+    val matching = BipartiteMatching(expectedList.size + extraActuals, actualList.size) { index ->
+      if (index < expectedList.size) {
+        actualList.indices.filter { actualIndex -> matches(index, actualIndex) }.toIntArray()
       } else {
-        examinedActualIndicesCombos.add(actualIndices.comboId)
-        longestMatch.useIfLarger(expectedIndex, actualIndices)
-        when {
-          expectedIndex < expectedList.size -> {
-            actualIndices.indices().any { actualIndex ->
-              memoizedCompare(expectedIndex, actualIndex).all {
-                it.result.isEmpty()
-              } && hasMatchingPermutation(expectedIndex + 1, actualIndices - actualIndex)
-            }
-          }
-          actualList.size > expectedList.size -> {
-            actualIndices.indices().all { actualIndex ->
-              memoizedActualCompare(actualIndex).all {
-                it.result.isEmpty()
-              }
-            }
-          }
-          else -> true
-        }
+        unmatchedExtraActuals
+      }
+    }
+
+    for (index in 0 until minOf(expectedList.size, actualList.size)) {
+      if (matches(index, index)) {
+        matching.match(index, index)
       }
     }
+    // Expected elements are matched first, so they take priority when the lists do not match
+    val matchedExpected = matching.maximise(expectedList.size)
+    val matched = if (extraActuals > 0) matching.maximise() else matchedExpected
 
-    return if (hasMatchingPermutation()) {
+    return if (matchedExpected == expectedList.size && matched == actualList.size) {
       emptyList()
     } else {
-      val smallestCombo = longestMatch.value ?: IndicesCombination.of(actualList.size)
-      val longestMatch = longestMatch.key ?: 0
+      val unmatchedExpected = expectedList.indices.filter { matching.rightFor(it) == -1 }
+      val remainingActual = actualList.indices.filter {
+        val index = matching.leftFor(it)
+        index == -1 || index >= expectedList.size
+      }
 
-      val remainingErrors = smallestCombo.indices().map { actualIndex ->
-        (longestMatch until expectedList.size).map { expectedIndex ->
-          memoizedCompare(expectedIndex, actualIndex).flatMap { it.result }
+      val remainingErrors = remainingActual.map { actualIndex ->
+        unmatchedExpected.map { expectedIndex ->
+          compare(expectedIndex, actualIndex).flatMap { it.result }
         }.flatten() + if (actualList.size > expectedList.size) {
           memoizedActualCompare(actualIndex).flatMap { it.result }
         } else emptyList()
-      }.toList().flatten()
+      }.flatten()
         .groupBy { it.path }
         .map { (path, mismatches) -> BodyItemMatchResult(path, mismatches) }
 
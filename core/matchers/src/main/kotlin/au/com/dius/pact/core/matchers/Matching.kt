@@ -3,7 +3,6 @@ package au.com.dius.pact.core.matchers
 import au.com.dius.pact.core.model.HttpPart
 import au.com.dius.pact.core.model.IHttpPart
 import au.com.dius.pact.core.model.IRequest
-import au.com.dius.pact.core.model.PathToken
 import au.com.dius.pact.core.model.constructPath
 import au.com.dius.pact.core.model.matchingrules.EachKeyMatcher
 import au.com.dius.pact.core.model.matchingrules.EachValueMatcher
@@ -17,6 +16,7 @@ import au.com.dius.pact.core.model.matchingrules.MinMaxEqualsIgnoreOrderMatcher
 import au.com.dius.pact.core.model.matchingrules.TypeMatcher
 import au.com.dius.pact.core.model.matchingrules.ValuesMatcher
 import au.com.dius.pact.core.model.parsePath
+import au.com.dius.pact.core.support.RegexCache
 import au.com.dius.pact.core.support.padTo
 import io.pact.plugins.jvm.core.PluginConfiguration
 import io.github.oshai.kotlinlogging.KLogging
@@ -27,16 +27,40 @@ data class MatchingContext @JvmOverloads constructor(
   val allowUnexpectedKeys: Boolean,
   val pluginConfiguration: Map<String, PluginConfiguration> = mapOf()
 ) {
+  private var pathIndex: MatchingRulePathIndex? = null
+
   @JvmOverloads
   fun matcherDefined(path: List<String>, pathComparator: Comparator<String> = Comparator.naturalOrder()): Boolean {
-    return resolveMatchers(path, pathComparator)
+    return if (isPathCategory()) {
+      pathMatches(path).any { match ->
+        val ruleGroup = matchers.matchingRules[match.pathExp]!!
+        ruleGroup.rules.isNotEmpty() && (ruleGroup.rules.none { it is ValuesMatcher } || match.depth == path.size)
+      }
+    } else {
+      resolveMatchers(path, pathComparator)
         .filter2 { (p, ruleGroup) -> ruleGroup.rules.none { it is ValuesMatcher } || parsePath(p).size == path.size }
         .isNotEmpty()
+    }
+  }
+
+  private fun isPathCategory() = matchers.name == "body" || matchers.name == "content"
+
+  /**
+   * Returns the body/content rules that match the path, using an index of the rule paths that is built on first use
+   */
+  private fun pathMatches(path: List<String>): List<MatchingRulePathIndex.Match> {
+    var index = pathIndex
+    if (index == null || !index.isCurrent(matchers)) {
+      index = MatchingRulePathIndex(matchers)
+      pathIndex = index
+    }
+    return index.matches(path)
   }
 
   private fun resolveMatchers(path: List<String>, pathComparator: Comparator<String>): MatchingRuleCategory {
     return when (matchers.name) {
-      "body", "content" -> matchers.filter { Matchers.matchesPath(it, path) > 0 }
+      "body", "content" -> matchers.copy(matchingRules = pathMatches(path)
+        .associateTo(linkedMapOf()) { it.pathExp to matchers.matchingRules[it.pathExp]!! })
       "header", "query", "metadata" -> matchers.filter { key -> path.all { pathComparator.compare(key, it) == 0 } }
       else -> matchers
     }
@@ -47,25 +71,21 @@ data class MatchingContext @JvmOverloads constructor(
     path: List<String>,
     pathComparator: Comparator<String> = Comparator.naturalOrder()
   ): MatchingRuleGroup {
-    val matcherCategory = resolveMatchers(path, pathComparator)
     return if (matchers.name == "body") {
-      val result = matcherCategory.matchingRules
-          .map { BestMatcherResult(path = path, pathExp = it.key, ruleGroup = it.value) }
-          .filter { it.pathWeight > 0 }
-          .maxWithOrNull(compareBy<BestMatcherResult> { it.pathWeight }.thenBy { it.pathExp.length })
-      result?.ruleGroup?.copy(cascaded = result.pathTokens.size < path.size) ?: MatchingRuleGroup()
+      val result = pathMatches(path)
+        .filter { match ->
+          match.depth == path.size || matchers.matchingRules[match.pathExp]!!.rules.none { it is ValuesMatcher }
+        }
+        .maxWithOrNull(compareBy<MatchingRulePathIndex.Match> { it.weight }
+          .thenBy { it.pathExp.length }
+          .thenByDescending { it.order })
+      result?.let { matchers.matchingRules[it.pathExp]!!.copy(cascaded = it.depth < path.size) }
+        ?: MatchingRuleGroup()
     } else {
-      matcherCategory.matchingRules.values.first()
+      resolveMatchers(path, pathComparator).matchingRules.values.first()
     }
   }
 
-  private class BestMatcherResult(path: List<String>, val pathExp: String, val ruleGroup: MatchingRuleGroup) {
-    val pathTokens: List<PathToken> = parsePath(pathExp)
-    val pathWeight: Int = if (ruleGroup.rules.none { it is ValuesMatcher } || pathTokens.size == path.size)
-      Matchers.calculatePathWeight(pathTokens, path)
-    else 0
-  }
-
   fun typeMatcherDefined(path: List<String>): Boolean {
     val resolvedMatchers = resolveMatchers(path, Comparator.naturalOrder())
     return resolvedMatchers.allMatchingRules().any { it is TypeMatcher }
@@ -139,8 +159,13 @@ data class MatchingContext @JvmOverloads constructor(
     matchers: List<Class<out MatchingRule>> = emptyList(),
     pathComparator: Comparator<String> = Comparator.naturalOrder()
   ): Boolean {
-    val resolvedMatchers = resolveMatchers(path, pathComparator).filter {
-      parsePath(it).size == path.size
+    val resolvedMatchers = if (isPathCategory()) {
+      this.matchers.copy(matchingRules = pathMatches(path).filter { it.depth == path.size }
+        .associateTo(linkedMapOf()) { it.pathExp to this.matchers.matchingRules[it.pathExp]!! })
+    } else {
+      resolveMatchers(path, pathComparator).filter {
+        parsePath(it).size == path.size
+      }
     }
     return if (matchers.isEmpty()) {
       resolvedMatchers.isNotEmpty()
@@ -302,7 +327,7 @@ object Matching : KLogging() {
     return if (context.matcherDefined(emptyList())) {
       val mismatch = Matchers.domatch(context, emptyList(), expected.path, replacedActual, PathMismatchFactory)
       mismatch.firstOrNull()
-    } else if (expected.path == replacedActual || replacedActual.matches(Regex(expected.path))) null
+    } else if (expected.path == replacedActual || replacedActual.matches(RegexCache.regex(expected.path))) null
     else PathMismatch(expected.path, replacedActual)
   }
 
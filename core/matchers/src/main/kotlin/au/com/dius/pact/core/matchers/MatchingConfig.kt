@@ -1,6 +1,7 @@
 package au.com.dius.pact.core.matchers
 
 import au.com.dius.pact.core.model.ContentType
+import au.com.dius.pact.core.support.RegexCache
 import io.pact.plugins.jvm.core.CatalogueEntry
 import io.pact.plugins.jvm.core.CatalogueEntryProviderType
 import io.pact.plugins.jvm.core.CatalogueEntryType
@@ -38,7 +39,7 @@ object MatchingConfig {
   }
 
   private fun coreContentMatcher(contentType: String): ContentMatcher? {
-    val matcher = coreBodyMatchers.entries.find { contentType.matches(Regex(it.key)) }?.value
+    val matcher = coreBodyMatchers.entries.find { contentType.matches(RegexCache.regex(it.key)) }?.value
     return if (matcher != null) {
       val clazz = Class.forName(matcher).kotlin
       (clazz.objectInstance ?: clazz.createInstance()) as ContentMatcher?
@@ -0,0 +1,87 @@
+package au.com.dius.pact.core.matchers
+
+import au.com.dius.pact.core.model.PathToken
+import au.com.dius.pact.core.model.matchingrules.MatchingRuleCategory
+import au.com.dius.pact.core.model.parsePath
+
+/**
+ * Index of the path expressions of a body or content matching rule category. The keys are parsed once and stored as
+ * a trie of path tokens, so finding the rules that apply to a path only visits the nodes that match each path element,
+ * instead of parsing and checking every key in the category.
+ */
+class MatchingRulePathIndex(category: MatchingRuleCategory) {
+  /**
+   * Rule key that matches a path
+   * @param pathExp The path expression (key) of the rule
+   * @param depth Number of tokens in the path expression
+   * @param weight Product of the weights of each token against the path elements (see [Matchers.calculatePathWeight])
+   * @param order Position of the key in the category, used to break ties the same way the rules are iterated
+   */
+  data class Match(val pathExp: String, val depth: Int, val weight: Int, val order: Int)
+
+  private class Node {
+    var root: Node? = null
+    var star: Node? = null
+    var starIndex: Node? = null
+    val fields = HashMap<String, Node>()
+    val indices = HashMap<Int, Node>()
+    val keys = mutableListOf<Pair<String, Int>>()
+
+    fun child(token: PathToken): Node {
+      return when (token) {
+        is PathToken.Root -> root ?: Node().also { root = it }
+        is PathToken.Star -> star ?: Node().also { star = it }
+        is PathToken.StarIndex -> starIndex ?: Node().also { starIndex = it }
+        is PathToken.Field -> fields.getOrPut(token.name) { Node() }
+        is PathToken.Index -> indices.getOrPut(token.index) { Node() }
+      }
+    }
+  }
+
+  private val rules = category.matchingRules
+  private val size = rules.size
+  private val trie = Node()
+
+  init {
+    rules.keys.forEachIndexed { order, key ->
+      val tokens = parsePath(key)
+      if (tokens.isNotEmpty()) {
+        tokens.fold(trie) { node, token -> node.child(token) }.keys.add(key to order)
+      }
+    }
+  }
+
+  /**
+   * If this index was built from the current rules of the category. Rules are only expected to be added before any
+   * matching is done, so this checks the map instance and the number of keys.
+   */
+  fun isCurrent(category: MatchingRuleCategory) = category.matchingRules === rules && rules.size == size
+
+  /**
+   * Returns all the rule keys that match the path (or a parent of the path), in the order of the keys in the category
+   */
+  fun matches(path: List<String>): List<Match> {
+    val result = mutableListOf<Match>()
+    var current = listOf(trie to 1)
+    for ((i, element) in path.withIndex()) {
+      val index = element.toIntOrNull()
+      val next = mutableListOf<Pair<Node, Int>>()
+      for ((node, weight) in current) {
+        if (element == "$") node.root?.let { next.add(it to weight * 2) }
+        node.fields[element]?.let { next.add(it to weight * 2) }
+        if (index != null) {
+          node.indices[index]?.let { next.add(it to weight * 2) }
+          node.starIndex?.let { next.add(it to weight) }
+        }
+        node.star?.let { next.add(it to weight) }
+      }
+      if (next.isEmpty()) break
+      for ((node, weight) in next) {
+        node.keys.forEach { (key, order) -> result.add(Match(key, i + 1, weight, order)) }
+      }
+      current = next
+    }
+    result.sortBy { it.order }
+    return result
+  }
+}
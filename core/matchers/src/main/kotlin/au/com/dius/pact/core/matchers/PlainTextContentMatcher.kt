@@ -3,6 +3,7 @@ package au.com.dius.pact.core.matchers
 import au.com.dius.pact.core.model.ContentType
 import au.com.dius.pact.core.model.OptionalBody
 import au.com.dius.pact.core.model.matchingrules.RegexMatcher
+import au.com.dius.pact.core.support.RegexCache
 import au.com.dius.pact.core.support.Result
 import io.pact.plugins.jvm.core.InteractionContents
 import io.github.oshai.kotlinlogging.KLogging
@@ -43,7 +44,7 @@ class PlainTextContentMatcher : ContentMatcher {
       }
     }
 
-    val regex = Regex(regexMatcher.regex, setOf(RegexOption.MULTILINE, RegexOption.DOT_MATCHES_ALL))
+    val regex = RegexCache.regex(regexMatcher.regex, setOf(RegexOption.MULTILINE, RegexOption.DOT_MATCHES_ALL))
     return if (regex.matches(actual)) {
       emptyList()
     } else {
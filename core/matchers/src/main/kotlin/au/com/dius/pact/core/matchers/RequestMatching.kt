@@ -62,13 +62,27 @@ data class PartialRequestMatch(val problems: Map<Interaction, RequestMatchResult
 object RequestMismatch : RequestMatch()
 
 class RequestMatching(private val expectedPact: Pact) {
+  @Volatile
+  private var index: InteractionIndex? = null
+
+  /**
+   * Returns the index of the interactions, rebuilding it if interactions have been added to the pact
+   */
+  private fun interactionIndex(): InteractionIndex {
+    var current = index
+    if (current == null || !current.isCurrent(expectedPact.interactions)) {
+      current = InteractionIndex(expectedPact.interactions)
+      index = current
+    }
+    return current
+  }
+
   fun matchInteraction(actual: IRequest): RequestMatch {
     val pluginConfiguration = when (expectedPact) {
       is V4Pact -> expectedPact.pluginData()
       else -> emptyList()
     }
-    val matches = expectedPact.interactions
-      .filter { it.isSynchronousRequestResponse() }
+    val matches = interactionIndex().candidates(actual)
       .map { interaction ->
         val response = interaction.asSynchronousRequestResponse()!!
         compareRequest(response, actual, pluginConfiguration.associate {
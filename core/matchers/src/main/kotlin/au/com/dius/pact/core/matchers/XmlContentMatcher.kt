@@ -34,8 +34,12 @@ object XmlContentMatcher : ContentMatcher, KLogging() {
           listOf(BodyItemMatchResult("$", listOf(
             BodyMismatch(expected.unwrap(), null, "Expected body '${expected.value}' but was missing")))))
       else -> {
-        BodyMatchResult(null, compareNode(listOf("$"), parse(expected.valueAsString()), parse(actual.valueAsString()),
-          context))
+        val expectedNode = parse(expected)
+        val actualNode = parse(actual)
+        // DOM nodes are not safe to read from multiple threads, and the parsed expected body is shared
+        synchronized(expectedNode) {
+          BodyMatchResult(null, compareNode(listOf("$"), expectedNode, actualNode, context))
+        }
       }
     }
   }
@@ -51,6 +55,16 @@ object XmlContentMatcher : ContentMatcher, KLogging() {
     )))
   }
 
+  /**
+   * Parses the body, using the parsed value cached on the body if it has already been parsed with the same parser
+   * settings
+   */
+  fun parse(body: OptionalBody): Node {
+    val kind = "xml;validating=${System.getProperty("pact.matching.xml.validating")};" +
+      "namespace-aware=${System.getProperty("pact.matching.xml.namespace-aware")}"
+    return body.parsedValue(kind) { parse(it.valueAsString()) }
+  }
+
   fun parse(xmlData: String): Node {
     return if (xmlData.isEmpty()) {
       TextImpl()
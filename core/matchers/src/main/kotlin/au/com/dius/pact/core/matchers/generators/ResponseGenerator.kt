@@ -1,5 +1,6 @@
 package au.com.dius.pact.core.matchers.generators
 
+import au.com.dius.pact.core.model.HttpPart
 import au.com.dius.pact.core.model.IResponse
 import au.com.dius.pact.core.model.PluginData
 import au.com.dius.pact.core.model.generators.Category
@@ -38,45 +39,76 @@ interface MessageContentsGenerator {
   ): MessageContents
 }
 
-object DefaultResponseGenerator: ResponseGenerator, MessageContentsGenerator, KLogging() {
-  override fun generateResponse(
-    response: IResponse,
+/**
+ * The generators to apply to a response. The generators for the status, headers and body, and the content generator to
+ * use for the body, are resolved when the plan is created, so a mock server can create a plan once for each interaction
+ * and use it to generate the response for every request that matches the interaction.
+ */
+class ResponseGenerationPlan(val response: IResponse, context: Map<String, Any>) {
+  private val statusGenerators = response.setupGenerators(Category.STATUS, context)
+  private val headerGenerators = response.setupGenerators(Category.HEADER, context)
+  private val bodyGenerators = if (response.body.isPresent()) response.setupGenerators(Category.BODY, context)
+    else emptyMap()
+
+  /**
+   * If the content type header is generated, the content type can only be known once the headers have been generated
+   */
+  private val contentType = if (bodyGenerators.isNotEmpty() &&
+    headerGenerators.keys.none { it.equals(HttpPart.CONTENT_TYPE, ignoreCase = true) })
+    response.determineContentType()
+    else null
+  private val contentHandler = if (contentType != null) CatalogueManager.findContentGenerator(contentType) else null
+
+  /**
+   * Apply the generators to a copy of the response
+   */
+  fun generate(
     context: MutableMap<String, Any>,
     testMode: GeneratorTestMode,
     pluginData: List<PluginData>,
     interactionData: Map<String, Map<String, JsonValue>>
   ): IResponse {
     val r = response.copyResponse()
-    val statusGenerators = r.setupGenerators(Category.STATUS, context)
     if (statusGenerators.isNotEmpty()) {
       Generators.applyGenerators(statusGenerators, testMode) { _, g -> r.status = g.generate(context, r.status) as Int }
     }
-    val headerGenerators = r.setupGenerators(Category.HEADER, context)
     if (headerGenerators.isNotEmpty()) {
       Generators.applyGenerators(headerGenerators, testMode) { key, g ->
         r.headers[key] = listOf(g.generate(context, r.headers[key]).toString())
       }
     }
-    if (r.body.isPresent()) {
-      val bodyGenerators = r.setupGenerators(Category.BODY, context)
-      if (bodyGenerators.isNotEmpty()) {
-        val contentType = r.determineContentType()
-        val contentHandler = CatalogueManager.findContentGenerator(contentType)
-        if (contentHandler == null || contentHandler.isCore) {
-          logger.debug {
-            "Either no content generator was found, or is a core one, will use the internal implementation"
-          }
-          r.body = Generators.applyBodyGenerators(bodyGenerators, r.body, contentType, context, testMode)
-        } else {
-          logger.debug { "Plugin content generator, will get the plugin to generate the content" }
-          r.body = contentHandler.generateContent(contentType, bodyGenerators, r.body, testMode,
-            pluginData, interactionData, context.mapValues { toJson(it) }, false)
+    if (bodyGenerators.isNotEmpty()) {
+      val contentType = this.contentType ?: r.determineContentType()
+      val contentHandler = if (this.contentType != null) this.contentHandler
+        else CatalogueManager.findContentGenerator(contentType)
+      if (contentHandler == null || contentHandler.isCore) {
+        logger.debug {
+          "Either no content generator was found, or is a core one, will use the internal implementation"
         }
+        r.body = Generators.applyBodyGenerators(bodyGenerators, r.body, contentType, context, testMode)
+      } else {
+        logger.debug { "Plugin content generator, will get the plugin to generate the content" }
+        r.body = contentHandler.generateContent(contentType, bodyGenerators, r.body, testMode,
+          pluginData, interactionData, context.mapValues { toJson(it) }, false)
       }
     }
     return r
   }
 
+  companion object : KLogging()
+}
+
+object DefaultResponseGenerator: ResponseGenerator, MessageContentsGenerator, KLogging() {
+  override fun generateResponse(
+    response: IResponse,
+    context: MutableMap<String, Any>,
+    testMode: GeneratorTestMode,
+    pluginData: List<PluginData>,
+    interactionData: Map<String, Map<String, JsonValue>>
+  ): IResponse {
+    return ResponseGenerationPlan(response, context).generate(context, testMode, pluginData, interactionData)
+  }
+
   override fun generateContents(
     contents: MessageContents,
     context: MutableMap<String, Any>,
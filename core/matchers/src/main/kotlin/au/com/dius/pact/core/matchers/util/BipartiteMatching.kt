@@ -0,0 +1,126 @@
+package au.com.dius.pact.core.matchers.util
+
+import java.util.ArrayDeque
+
+/**
+ * Maximum bipartite matching using the Hopcroft-Karp algorithm, which runs in O(E * sqrt(V)) time.
+ *
+ * The edges of a left vertex are only requested (and then cached) the first time the search needs them, so vertices
+ * matched with [match] before calling [maximise] never have their edges computed.
+ *
+ * @param leftSize Number of left vertices
+ * @param rightSize Number of right vertices
+ * @param edges Function that returns the right vertices connected to a left vertex
+ */
+class BipartiteMatching(
+  private val leftSize: Int,
+  rightSize: Int,
+  private val edges: (Int) -> IntArray
+) {
+  private val adjacency = arrayOfNulls<IntArray>(leftSize)
+  private val distance = IntArray(leftSize)
+  private val matchedLeft = IntArray(leftSize) { NONE }
+  private val matchedRight = IntArray(rightSize) { NONE }
+
+  /**
+   * Adds the edge between the two vertices to the matching, if neither vertex is already matched
+   * @return if the edge was added
+   */
+  fun match(left: Int, right: Int): Boolean {
+    return if (matchedLeft[left] == NONE && matchedRight[right] == NONE) {
+      matchedLeft[left] = right
+      matchedRight[right] = left
+      true
+    } else {
+      false
+    }
+  }
+
+  /**
+   * Finds augmenting paths from the unmatched left vertices below [activeLeft] until the matching is maximal for those
+   * vertices. Left vertices that are matched stay matched, so this can be called again with more active vertices.
+   * @return the number of matched left vertices
+   */
+  fun maximise(activeLeft: Int = leftSize): Int {
+    while (findAugmentingPaths(activeLeft)) {
+      for (left in 0 until activeLeft) {
+        if (matchedLeft[left] == NONE) {
+          augment(left)
+        }
+      }
+    }
+    return matchedLeft.count { it != NONE }
+  }
+
+  /**
+   * Right vertex matched to the left vertex, or -1 if it is not matched
+   */
+  fun rightFor(left: Int) = matchedLeft[left]
+
+  /**
+   * Left vertex matched to the right vertex, or -1 if it is not matched
+   */
+  fun leftFor(right: Int) = matchedRight[right]
+
+  private fun edgesFor(left: Int): IntArray {
+    var result = adjacency[left]
+    if (result == null) {
+      result = edges(left)
+      adjacency[left] = result
+    }
+    return result
+  }
+
+  /**
+   * Breadth-first search from the unmatched left vertices, layering the left vertices by the length of the
+   * alternating path to them. Returns true if an unmatched right vertex can be reached.
+   */
+  private fun findAugmentingPaths(activeLeft: Int): Boolean {
+    val queue = ArrayDeque<Int>()
+    for (left in 0 until leftSize) {
+      if (left < activeLeft && matchedLeft[left] == NONE) {
+        distance[left] = 0
+        queue.add(left)
+      } else {
+        distance[left] = INFINITY
+      }
+    }
+
+    var found = false
+    while (queue.isNotEmpty()) {
+      val left = queue.poll()
+      for (right in edgesFor(left)) {
+        val next = matchedRight[right]
+        if (next == NONE) {
+          found = true
+        } else if (distance[next] == INFINITY) {
+          distance[next] = distance[left] + 1
+          queue.add(next)
+        }
+      }
+    }
+    return found
+  }
+
+  /**
+   * Depth-first search along the layers found by [findAugmentingPaths], flipping the edges of the path if one ends at
+   * an unmatched right vertex.
+   */
+  private fun augment(left: Int): Boolean {
+    for (right in edgesFor(left)) {
+      val next = matchedRight[right]
+      if (next == NONE || (distance[next] == distance[left] + 1 && augment(next))) {
+        matchedLeft[left] = right
+        matchedRight[right] = left
+        return true
+      }
+    }
+    distance[left] = INFINITY
+    return false
+  }
+
+  companion object {
+    private const val NONE = -1
+    private const val INFINITY = Int.MAX_VALUE
+  }
+}
@@ -0,0 +1,65 @@
+package au.com.dius.pact.core.matchers
+
+import au.com.dius.pact.core.model.OptionalBody
+import au.com.dius.pact.core.model.Request
+import au.com.dius.pact.core.model.RequestResponseInteraction
+import au.com.dius.pact.core.model.Response
+import au.com.dius.pact.core.model.matchingrules.MatchingRulesImpl
+import au.com.dius.pact.core.model.matchingrules.RegexMatcher
+import au.com.dius.pact.core.model.messaging.Message
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class InteractionIndexSpec extends Specification {
+
+  private static RequestResponseInteraction interaction(String description, String method, String path,
+                                                        MatchingRulesImpl rules = new MatchingRulesImpl()) {
+    def request = new Request(method, path, [:], [:], OptionalBody.missing(), rules)
+    new RequestResponseInteraction(description, [], request, new Response())
+  }
+
+  @Unroll
+  def 'returns the candidate interactions in pact order - #method #path'() {
+    given:
+    def pathRules = new MatchingRulesImpl()
+    pathRules.addCategory('path').addRule(new RegexMatcher('/items/\\d+'))
+    def interactions = [
+      interaction('a', 'GET', '/items'),
+      interaction('b', 'GET', '/items/\\d+'),
+      interaction('c', 'POST', '/items'),
+      new Message('message'),
+      interaction('d', 'get', '/items'),
+      interaction('e', 'GET', '/items/100', pathRules),
+      interaction('f', 'GET', '/other')
+    ]
+    def index = new InteractionIndex(interactions)
+
+    expect:
+    index.candidates(new Request(method, path))*.description == candidates
+
+    where:
+
+    method   | path                          | candidates
+    'GET'    | '/items'                      | ['a', 'b', 'd', 'e']
+    'get'    | '/items/1'                    | ['b', 'e']
+    'POST'   | '/items'                      | ['c']
+    'PUT'    | '/items'                      | []
+    'GET'    | '/other'                      | ['b', 'e', 'f']
+    'GET'    | 'http://localhost:1234/other' | ['b', 'e', 'f']
+  }
+
+  def 'is no longer current when interactions are added'() {
+    given:
+    def interactions = [interaction('a', 'GET', '/a')]
+    def index = new InteractionIndex(interactions)
+
+    expect:
+    index.isCurrent(interactions)
+
+    when:
+    interactions << interaction('b', 'GET', '/b')
+
+    then:
+    !index.isCurrent(interactions)
+  }
+}
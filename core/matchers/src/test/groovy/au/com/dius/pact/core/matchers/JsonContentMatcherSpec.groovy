@@ -363,6 +363,43 @@ class JsonContentMatcherSpec extends Specification {
     '[{"i": "a"}, {"i": 2}, {"i": "c"}]' | '[{"i": 2}, {"i": "c"}, {"i": "a"}]'
   }
 
+  @Unroll
+  def 'matching json bodies - with ignore-order - large unordered lists (#size elements)'() {
+    given:
+    def expected = (1..size).collect { "{\"id\": $it, \"name\": \"item $it\"}" }
+    def actual = expected.reverse()
+    def actualBody = OptionalBody.body("[${actual.join(',')}]".bytes)
+    def expectedBody = OptionalBody.body("[${expected.join(',')}]".bytes)
+    def mismatchedBody = OptionalBody.body("[${(actual.tail() + '{"id": 0}').join(',')}]".bytes)
+    context.matchers
+      .addRule('$', EqualsIgnoreOrderMatcher.INSTANCE)
+
+    expect:
+    matcher.matchBody(expectedBody, actualBody, context).mismatches.empty
+    !matcher.matchBody(expectedBody, mismatchedBody, context).mismatches.empty
+
+    where:
+    size << [10, 100, 500]
+  }
+
+  def 'matching lists ignoring order - each pair of elements is only compared once'() {
+    given:
+    def comparisons = [:].withDefault { 0 }
+    def callback = { List<String> path, Integer expected, Integer actual, MatchingContext ctx ->
+      comparisons[[expected, actual]] += 1
+      expected == actual ? [] : [new BodyItemMatchResult(path.join('.'), [new BodyMismatch(expected, actual, 'no')])]
+    }
+
+    when:
+    def result = Matchers.INSTANCE.compareListContentUnordered([1, 2, 3, 4], [4, 3, 5, 1], ['$'], context,
+      { '' }, callback)
+
+    then:
+    !result.empty
+    !comparisons.empty
+    comparisons.values().every { it == 1 }
+  }
+
   @Unroll
   def 'matching json bodies - with ignore-order - return a mismatch when actual is missing an element'() {
     given:
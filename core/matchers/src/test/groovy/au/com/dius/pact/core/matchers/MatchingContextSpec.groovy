@@ -20,6 +20,7 @@ import spock.lang.Issue
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import static au.com.dius.pact.core.model.PathExpressionsKt.parsePath
 import static au.com.dius.pact.core.support.json.JsonParser.parseString
 
 @SuppressWarnings('ClosureAsLastMethodParameter')
@@ -362,4 +363,63 @@ class MatchingContextSpec extends Specification {
     result2.size() == 1
     result3.size() == 2
   }
+
+  @Unroll
+  def 'select best matcher - selects the same rule as calculating the path weight of every rule - #path'() {
+    given:
+    def category = new MatchingRuleCategory('body')
+    category.addRule('$', TypeMatcher.INSTANCE)
+    category.addRule('$.a', new RegexMatcher('a'))
+    category.addRule('$.a[*]', new RegexMatcher('b'))
+    category.addRule('$.a[1]', new RegexMatcher('c'))
+    category.addRule('$.a.*', new RegexMatcher('d'))
+    category.addRule('$.*.b', new RegexMatcher('e'))
+    category.addRule("\$['a'].b", new RegexMatcher('f'))
+    category.addRule('$.values', ValuesMatcher.INSTANCE)
+    def context = new MatchingContext(category, true)
+
+    def expected = category.matchingRules.collect {
+      def tokens = parsePath(it.key)
+      def weight = tokens.size() <= path.size() && (it.value.rules.every { !(it instanceof ValuesMatcher) } ||
+        tokens.size() == path.size()) ? Matchers.INSTANCE.calculatePathWeight(tokens, path) : 0
+      [it.key, weight, tokens.size()]
+    }.findAll { it[1] > 0 }.max { a, b -> a[1] <=> b[1] ?: a[0].length() <=> b[0].length() }
+
+    when:
+    def result = context.selectBestMatcher(path)
+
+    then:
+    result.rules == category.matchingRules[expected[0]].rules
+    result.cascaded == expected[2] < path.size()
+
+    where:
+
+    path << [
+      ['$'],
+      ['$', 'a'],
+      ['$', 'a', '0'],
+      ['$', 'a', '1'],
+      ['$', 'a', 'b'],
+      ['$', 'c', 'b'],
+      ['$', 'a', 'b', 'c'],
+      ['$', 'values', 'x']
+    ]
+  }
+
+  def 'path index - picks up rules added after the context was created'() {
+    given:
+    def category = new MatchingRuleCategory('body')
+    category.addRule('$.a', TypeMatcher.INSTANCE)
+    def context = new MatchingContext(category, true)
+
+    expect:
+    context.matcherDefined(['$', 'a'])
+    !context.matcherDefined(['$', 'b'])
+
+    when:
+    category.addRule('$.b', TypeMatcher.INSTANCE)
+
+    then:
+    context.matcherDefined(['$', 'b'])
+  }
 }
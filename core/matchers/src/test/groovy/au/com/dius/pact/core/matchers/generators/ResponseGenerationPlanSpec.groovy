@@ -0,0 +1,87 @@
+package au.com.dius.pact.core.matchers.generators
+
+import au.com.dius.pact.core.model.ContentType
+import au.com.dius.pact.core.model.OptionalBody
+import au.com.dius.pact.core.model.Response
+import au.com.dius.pact.core.model.generators.Category
+import au.com.dius.pact.core.model.generators.GeneratorTestMode
+import au.com.dius.pact.core.model.generators.MockServerURLGenerator
+import au.com.dius.pact.core.model.generators.Generators
+import au.com.dius.pact.core.model.generators.RandomIntGenerator
+import au.com.dius.pact.core.model.generators.RandomStringGenerator
+import au.com.dius.pact.core.model.matchingrules.MatchingRulesImpl
+import spock.lang.Specification
+
+class ResponseGenerationPlanSpec extends Specification {
+
+  private Response response
+
+  def setup() {
+    def generators = new Generators()
+      .addGenerator(Category.STATUS, '', new RandomIntGenerator(201, 201))
+      .addGenerator(Category.HEADER, 'X-Id', new RandomStringGenerator(10))
+      .addGenerator(Category.BODY, '$.a', new RandomIntGenerator(5, 5))
+    response = new Response(200, ['Content-Type': ['application/json']],
+      OptionalBody.body('{"a": 1}'.bytes, ContentType.JSON), new MatchingRulesImpl(), generators)
+  }
+
+  def 'a plan can be used to generate the response many times'() {
+    given:
+    def plan = new ResponseGenerationPlan(response, [:])
+
+    when:
+    def response1 = plan.generate([:], GeneratorTestMode.Consumer, [], [:])
+    def response2 = plan.generate([:], GeneratorTestMode.Consumer, [], [:])
+
+    then:
+    [response1, response2].every {
+      it.status == 201 && it.body.valueAsString().replaceAll('\\s', '') == '{"a":5}' &&
+        it.headers['X-Id'][0].length() == 10
+    }
+    response1.headers['X-Id'] != response2.headers['X-Id']
+    response.status == 200
+    response.body.valueAsString() == '{"a": 1}'
+    !response.headers.containsKey('X-Id')
+  }
+
+  def 'generates the same response as the default response generator'() {
+    when:
+    def planned = new ResponseGenerationPlan(response, [:]).generate([:], GeneratorTestMode.Consumer, [], [:])
+    def generated = DefaultResponseGenerator.INSTANCE.generateResponse(response, [:], GeneratorTestMode.Consumer,
+      [], [:])
+
+    then:
+    planned.status == generated.status
+    planned.body.valueAsString() == generated.body.valueAsString()
+    planned.headers.keySet() == generated.headers.keySet()
+  }
+
+  def 'generators are only applied for the test mode they correspond to'() {
+    given:
+    def generators = new Generators().addGenerator(Category.HEADER, 'Location',
+      new MockServerURLGenerator('http://localhost:1234/orders/5678', '.*\\/(orders\\/\\d+)$'))
+    def plan = new ResponseGenerationPlan(new Response(201, [Location: ['http://localhost:1234/orders/5678']],
+      OptionalBody.missing(), new MatchingRulesImpl(), generators), [:])
+    def context = [mockServer: [href: 'http://mockserver']]
+
+    expect:
+    plan.generate(context, GeneratorTestMode.Consumer, [], [:]).headers['Location'] ==
+      ['http://mockserver/orders/5678']
+    plan.generate(context, GeneratorTestMode.Provider, [], [:]).headers['Location'] ==
+      ['http://localhost:1234/orders/5678']
+  }
+
+  def 'a response without generators is copied'() {
+    given:
+    def plain = new Response(200, [:], OptionalBody.body('text'.bytes, ContentType.TEXT_PLAIN))
+    def plan = new ResponseGenerationPlan(plain, [:])
+
+    when:
+    def generated = plan.generate([:], GeneratorTestMode.Consumer, [], [:])
+
+    then:
+    !generated.is(plain)
+    generated.status == 200
+    generated.body.valueAsString() == 'text'
+  }
+}
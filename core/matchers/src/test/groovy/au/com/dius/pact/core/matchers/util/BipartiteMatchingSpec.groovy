@@ -0,0 +1,70 @@
+package au.com.dius.pact.core.matchers.util
+
+import spock.lang.Specification
+
+class BipartiteMatchingSpec extends Specification {
+
+  private static BipartiteMatching matching(List<List<Integer>> edges, int rightSize) {
+    new BipartiteMatching(edges.size(), rightSize, { int left -> edges[left] as int[] })
+  }
+
+  def 'finds a maximum matching'() {
+    given:
+    def matching = matching([[0, 1], [0], [1, 2]], 3)
+
+    expect:
+    matching.maximise() == 3
+    matching.rightFor(0) == 1
+    matching.rightFor(1) == 0
+    matching.rightFor(2) == 2
+    matching.leftFor(1) == 0
+  }
+
+  def 'finds the augmenting path when the greedy matching is not maximal'() {
+    given:
+    def matching = matching([[0, 1], [0]], 2)
+    matching.match(0, 0)
+
+    expect:
+    matching.maximise() == 2
+    matching.rightFor(0) == 1
+    matching.rightFor(1) == 0
+  }
+
+  def 'returns the size of the matching when not every vertex can be matched'() {
+    given:
+    def matching = matching([[0], [0], [1]], 2)
+
+    expect:
+    matching.maximise() == 2
+  }
+
+  def 'matched vertices stay matched when more vertices are added'() {
+    given:
+    def matching = matching([[0, 1], [0, 1], [1]], 2)
+
+    when:
+    def first = matching.maximise(2)
+    def second = matching.maximise()
+
+    then:
+    first == 2
+    second == 2
+    matching.rightFor(0) != -1
+    matching.rightFor(1) != -1
+    matching.rightFor(2) == -1
+  }
+
+  def 'only requests the edges the search needs'() {
+    given:
+    def requested = []
+    def matching = new BipartiteMatching(3, 3, { int left -> requested << left; [left] as int[] })
+    (0..2).each { matching.match(it, it) }
+
+    when:
+    matching.maximise()
+
+    then:
+    requested.empty
+  }
+}
@@ -12,6 +12,7 @@ import org.apache.tika.config.TikaConfig
 import org.apache.tika.io.TikaInputStream
 import org.apache.tika.metadata.Metadata
 import java.util.Base64
+import java.util.concurrent.ConcurrentHashMap
 
 /**
  * If the content type should be overridden
@@ -23,28 +24,72 @@ enum class ContentTypeHint {
 }
 
 /**
- * Class to represent missing, empty, null and present bodies
+ * Class to represent missing, empty, null and present bodies. This is not a data class, as the content type is
+ * detected lazily, but it provides the same copy and component functions.
  */
-data class OptionalBody @JvmOverloads constructor(
+class OptionalBody @JvmOverloads constructor(
   val state: State,
   val value: ByteArray? = null,
-  var contentType: ContentType = UNKNOWN,
+  contentType: ContentType = UNKNOWN,
   var contentTypeHint: ContentTypeHint = ContentTypeHint.DEFAULT
 ) {
 
-  init {
-    if (contentType == UNKNOWN) {
-      val detectedContentType = detectContentType()
-      if (detectedContentType != null) {
-        this.contentType = detectedContentType
+  enum class State {
+    MISSING, EMPTY, NULL, PRESENT
+  }
+
+  private var declaredContentType: ContentType = contentType
+
+  @Volatile
+  private var detectedContentType: ContentType? = null
+
+  /**
+   * The content type of the body. If it was not provided, it is detected from the contents of the body the first time
+   * it is needed.
+   */
+  var contentType: ContentType
+    get() {
+      if (declaredContentType != UNKNOWN) {
+        return declaredContentType
       }
+      var detected = detectedContentType
+      if (detected == null) {
+        detected = detectContentType() ?: UNKNOWN
+        detectedContentType = detected
+      }
+      return detected
+    }
+    set(value) {
+      declaredContentType = value
+      detectedContentType = null
     }
-  }
 
-  enum class State {
-    MISSING, EMPTY, NULL, PRESENT
+  /**
+   * Creates a copy of this body. If the body has the same value, any content type that has already been detected is
+   * kept.
+   */
+  @JvmOverloads
+  fun copy(
+    state: State = this.state,
+    value: ByteArray? = this.value,
+    contentType: ContentType = this.declaredContentType,
+    contentTypeHint: ContentTypeHint = this.contentTypeHint
+  ): OptionalBody {
+    val copy = OptionalBody(state, value, contentType, contentTypeHint)
+    if (contentType == UNKNOWN && state == this.state && value === this.value) {
+      copy.detectedContentType = detectedContentType
+    }
+    return copy
   }
 
+  operator fun component1() = state
+  operator fun component2() = value
+  operator fun component3() = contentType
+  operator fun component4() = contentTypeHint
+
+  @Volatile
+  private var parsedValues: ConcurrentHashMap<String, Any>? = null
+
   fun isMissing(): Boolean {
     return state == State.MISSING
   }
@@ -117,6 +162,28 @@ data class OptionalBody @JvmOverloads constructor(
     }
   }
 
+  /**
+   * Returns the body parsed with the parser. The body is only parsed the first time a kind of parsed value is
+   * requested for the current content type, and the same parsed value is returned after that. Parsed values are shared
+   * between callers, so they must not be modified.
+   * @param kind Key for the kind of parsed value (i.e. JSON, XML DOM or form parameters)
+   * @param parser Function to parse the body
+   */
+  @Suppress("UNCHECKED_CAST")
+  fun <T : Any> parsedValue(kind: String, parser: (OptionalBody) -> T): T {
+    var values = parsedValues
+    if (values == null) {
+      synchronized(this) {
+        values = parsedValues
+        if (values == null) {
+          values = ConcurrentHashMap()
+          parsedValues = values
+        }
+      }
+    }
+    return values!!.computeIfAbsent("$kind;$contentType") { parser(this) } as T
+  }
+
   fun valueAsString(): String {
     return when (state) {
       State.PRESENT -> value!!.toString(contentType.asCharset())
@@ -126,7 +193,10 @@ data class OptionalBody @JvmOverloads constructor(
 
   fun detectContentType(): ContentType? = when {
     this.isPresent() -> {
-      if (tika != null) {
+      val sniffed = sniffContentType(value!!)
+      if (sniffed != null) {
+        sniffed
+      } else if (tika != null) {
         val metadata = Metadata()
         val mimetype = tika.detector.detect(TikaInputStream.get(value!!), metadata)
         if (mimetype.baseType.type == "text") {
@@ -250,6 +320,28 @@ data class OptionalBody @JvmOverloads constructor(
       null
     }
 
+    private const val SNIFF_LENGTH = 512
+    private const val FIRST_PRINTABLE = 0x20
+    private const val DELETE = 0x7F
+
+    private val PLAIN_TEXT = ContentType("text/plain")
+
+    /**
+     * Cheap check for JSON, XML, HTML and plain text bodies, so that Tika does not need to be used for them. The start
+     * of the body must not contain any control characters, otherwise it is left to Tika. Text bodies that are not JSON,
+     * XML or HTML are treated as plain text, so Tika is not used to find a more specific text type for them.
+     */
+    private fun sniffContentType(value: ByteArray): ContentType? {
+      val length = minOf(value.size, SNIFF_LENGTH)
+      for (i in 0 until length) {
+        val b = value[i].toInt() and 0xFF
+        if ((b < FIRST_PRINTABLE && b != '\n'.code && b != '\r'.code && b != '\t'.code) || b == DELETE) {
+          return null
+        }
+      }
+      return detectContentTypeInByteArray(value) ?: PLAIN_TEXT
+    }
+
     fun detectContentTypeInByteArray(value: ByteArray): ContentType? {
       val newLine = '\n'.code.toByte()
       val cReturn = '\r'.code.toByte()
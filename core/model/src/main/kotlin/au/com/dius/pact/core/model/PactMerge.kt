@@ -21,8 +21,7 @@ object PactMerge : KLogging() {
       existing.interactions.isEmpty() -> MergeResult(true, "", newPact)
       newPact.interactions.isEmpty() -> MergeResult(true, "", existing)
       else -> {
-        val conflicts = cartesianProduct(existing.interactions, newPact.interactions)
-          .filter { it.first.conflictsWith(it.second) }
+        val conflicts = findConflicts(existing.interactions, newPact.interactions)
         if (conflicts.isEmpty()) {
           MergeResult(true, "", existing.mergeInteractions(newPact.interactions))
         } else {
@@ -33,13 +32,33 @@ object PactMerge : KLogging() {
     }
   }
 
-  private fun cartesianProduct(
-    list1: List<Interaction>,
-    list2: List<Interaction>
+  /**
+   * Finds the conflicting interactions. Interactions of the same type are only compared if they have the same
+   * description and provider states (the same values V4 interactions use for their key), so the cost grows linearly
+   * with the number of interactions. Whether interactions of different types conflict depends only on their types, so
+   * one sample is compared for each pair of types, and all the interactions are only compared if the sample conflicts.
+   */
+  private fun findConflicts(
+    existing: List<Interaction>,
+    interactions: List<Interaction>
   ): List<Pair<Interaction, Interaction>> {
+    val byClass = interactions.groupBy { it.javaClass }
+    val byKey = interactions.groupBy { Triple(it.javaClass, it.description, it.providerStates) }
+    val classesConflict = mutableMapOf<Pair<Class<*>, Class<*>>, Boolean>()
     val result = mutableListOf<Pair<Interaction, Interaction>>()
-    list1.forEach { item1 ->
-      list2.forEach { item2 -> result.add(item1 to item2) }
+    existing.forEach { item1 ->
+      byClass.forEach { (clazz, items) ->
+        val candidates = when {
+          clazz == item1.javaClass -> byKey[Triple(clazz, item1.description, item1.providerStates)].orEmpty()
+          classesConflict.getOrPut(item1.javaClass to clazz) { item1.conflictsWith(items.first()) } -> items
+          else -> emptyList()
+        }
+        candidates.forEach { item2 ->
+          if (item1.conflictsWith(item2)) {
+            result.add(item1 to item2)
+          }
+        }
+      }
     }
     return result
   }
@@ -1,11 +1,11 @@
 package au.com.dius.pact.core.model
 
+import au.com.dius.pact.core.model.messaging.Message
 import au.com.dius.pact.core.model.messaging.MessagePact
 import au.com.dius.pact.core.pactbroker.PactBrokerClient
 import au.com.dius.pact.core.pactbroker.PactBrokerClientConfig
 import au.com.dius.pact.core.pactbroker.PactBrokerResult
 import au.com.dius.pact.core.support.Auth
-import au.com.dius.pact.core.support.HttpClient
 import au.com.dius.pact.core.support.HttpClientUtils
 import au.com.dius.pact.core.support.HttpClientUtils.isJsonResponse
 import au.com.dius.pact.core.support.Json
@@ -13,8 +13,10 @@ import au.com.dius.pact.core.support.Result
 import au.com.dius.pact.core.support.Utils
 import au.com.dius.pact.core.support.Version
 import au.com.dius.pact.core.support.handleWith
+import au.com.dius.pact.core.support.json.JsonEvent
 import au.com.dius.pact.core.support.json.JsonException
 import au.com.dius.pact.core.support.json.JsonParser
+import au.com.dius.pact.core.support.json.JsonPullParser
 import au.com.dius.pact.core.support.json.JsonValue
 import au.com.dius.pact.core.support.json.map
 import au.com.dius.pact.core.support.jsonArray
@@ -53,13 +55,7 @@ fun loadPactFromUrl(
   http: CloseableHttpClient
 ): Pair<JsonValue.Object, PactSource> {
   return when (source) {
-    is BrokerUrlSource -> {
-      val insecureTLS = Utils.lookupInMap(options, "insecureTLS", Boolean::class.java, false)
-      val brokerClient = PactBrokerClient(source.pactBrokerUrl, options.toMutableMap(),
-        PactBrokerClientConfig(insecureTLS = insecureTLS))
-      val pactResponse = brokerClient.fetchPact(source.url, source.encodePath)
-      pactResponse.pactFile to source.copy(attributes = pactResponse.links, options = options, tag = source.tag)
-    }
+    is BrokerUrlSource -> loadPactFromBroker(source, options)
     else -> when (val jsonResource = fetchJsonResource(http, source)) {
       is Result.Ok -> if (jsonResource.value.first is JsonValue.Object) {
         jsonResource.value.first.asObject()!! to jsonResource.value.second
@@ -71,6 +67,28 @@ fun loadPactFromUrl(
   }
 }
 
+/**
+ * Loads a pact from the Pact Broker. The Pact Broker client manages its own HTTP client.
+ */
+fun loadPactFromBroker(source: BrokerUrlSource, options: Map<String, Any>): Pair<JsonValue.Object, PactSource> {
+  val insecureTLS = Utils.lookupInMap(options, "insecureTLS", Boolean::class.java, false)
+  val brokerClient = PactBrokerClient(source.pactBrokerUrl, options.toMutableMap(),
+    PactBrokerClientConfig(insecureTLS = insecureTLS))
+  return loadPactFromBroker(source, options, brokerClient)
+}
+
+/**
+ * Loads a pact from the Pact Broker using an existing Pact Broker client
+ */
+fun loadPactFromBroker(
+  source: BrokerUrlSource,
+  options: Map<String, Any>,
+  brokerClient: PactBrokerClient
+): Pair<JsonValue.Object, PactSource> {
+  val pactResponse = brokerClient.fetchPact(source.url, source.encodePath)
+  return pactResponse.pactFile to source.copy(attributes = pactResponse.links, options = options, tag = source.tag)
+}
+
 @Suppress("ThrowsCount")
 fun fetchJsonResource(http: CloseableHttpClient, source: UrlPactSource):
   Result<Pair<JsonValue, UrlPactSource>, Throwable> {
@@ -254,24 +272,52 @@ object DefaultPactReader : PactReader, KLogging() {
       val provider = Provider.fromJson(transformedJson["provider"])
       val consumer = Consumer.fromJson(transformedJson["consumer"])
 
-      val interactions = transformedJson["interactions"].map { i ->
-        val request = extractRequest(i["request"].asObject())
-        val response = extractResponse(i["response"].asObject())
-        val providerStates = mutableListOf<ProviderState>()
-        if (i.has("providerStates")) {
-          providerStates.addAll(i["providerStates"].asArray().map { ProviderState.fromJson(it) })
-        } else if (i.has("providerState")) {
-          providerStates.add(ProviderState(Json.toString(i["providerState"])))
-        }
-        RequestResponseInteraction(Json.toString(i["description"]), providerStates, request, response,
-          Json.toString(i["_id"]))
-      }
+      val interactions = transformedJson["interactions"].map { i -> v3InteractionFromJson(i) }
 
       return RequestResponsePact(provider, consumer, interactions.toMutableList(),
         BasePact.metaData(transformedJson["metadata"], PactSpecVersion.V3), source)
     }
   }
 
+  /**
+   * Loads a V3 pact from the reader. Interactions (or messages) are built one at a time as they are read, so the
+   * JSON tree for the whole document is never held in memory.
+   */
+  @JvmStatic
+  fun loadV3Pact(source: PactSource, reader: Reader): Pact {
+    val interactions = mutableListOf<RequestResponseInteraction>()
+    val messages = mutableListOf<Message>()
+    val pactJson = streamPactJson(reader) { key, _, json ->
+      when (key) {
+        "interactions" -> interactions.add(v3InteractionFromJson(transformInteractionJson(json)))
+        "messages" -> messages.add(Message.fromJson(json.downcast()))
+      }
+    }
+
+    val transformedJson = transformJson(pactJson)
+    return if (transformedJson.has("messages")) {
+      val metadata = if (transformedJson.has("metadata")) Json.toMap(transformedJson["metadata"]) else emptyMap()
+      MessagePact(Provider.fromJson(transformedJson["provider"]), Consumer.fromJson(transformedJson["consumer"]),
+        messages, metadata, source)
+    } else {
+      RequestResponsePact(Provider.fromJson(transformedJson["provider"]), Consumer.fromJson(transformedJson["consumer"]),
+        interactions.toMutableList(), BasePact.metaData(transformedJson["metadata"], PactSpecVersion.V3), source)
+    }
+  }
+
+  private fun v3InteractionFromJson(i: JsonValue): RequestResponseInteraction {
+    val request = extractRequest(i["request"].asObject())
+    val response = extractResponse(i["response"].asObject())
+    val providerStates = mutableListOf<ProviderState>()
+    if (i.has("providerStates")) {
+      providerStates.addAll(i["providerStates"].asArray().map { ProviderState.fromJson(it) })
+    } else if (i.has("providerState")) {
+      providerStates.add(ProviderState(Json.toString(i["providerState"])))
+    }
+    return RequestResponseInteraction(Json.toString(i["description"]), providerStates, request, response,
+      Json.toString(i["_id"]))
+  }
+
   @JvmStatic
   fun loadV2Pact(source: PactSource, pactJson: JsonValue.Object): RequestResponsePact {
     val transformedJson = transformJson(pactJson)
@@ -310,6 +356,56 @@ object DefaultPactReader : PactReader, KLogging() {
       PactSpecVersion.V4), source)
   }
 
+  /**
+   * Loads a V4 pact from the reader. Interactions are built one at a time as they are read, so the JSON tree for the
+   * whole document is never held in memory.
+   */
+  @JvmStatic
+  fun loadV4Pact(source: PactSource, reader: Reader): Pact {
+    val interactions = mutableListOf<Interaction>()
+    val pactJson = streamPactJson(reader) { key, index, json ->
+      if (key == "interactions") {
+        interactions.add(V4Interaction.interactionFromJson(index, json, source).unwrap())
+      }
+    }
+
+    return V4Pact(Consumer.fromJson(pactJson["consumer"]), Provider.fromJson(pactJson["provider"]), interactions,
+      BasePact.metaData(pactJson["metadata"], PactSpecVersion.V4), source)
+  }
+
+  /**
+   * Reads the top level pact object from the reader. The elements of the interactions and messages arrays are passed
+   * to the callback as they are read, and are not added to the returned object (the array attributes are left empty).
+   */
+  private fun streamPactJson(reader: Reader, callback: (String, Int, JsonValue) -> Unit): JsonValue.Object {
+    val parser = JsonPullParser.fromReader(reader)
+    if (parser.nextEvent() != JsonEvent.START_OBJECT) {
+      throw JsonException("Invalid Pact document (${parser.documentPointer()}) - expected a JSON object")
+    }
+
+    val pactJson = JsonValue.Object()
+    while (parser.nextEvent() == JsonEvent.FIELD_NAME) {
+      val key = parser.text()
+      val event = parser.nextEvent()
+      if ((key == "interactions" || key == "messages") && event == JsonEvent.START_ARRAY) {
+        var index = 0
+        while (parser.nextEvent() != JsonEvent.END_ARRAY) {
+          callback(key, index++, parser.readValue())
+        }
+        pactJson.add(key, JsonValue.Array())
+      } else {
+        pactJson.add(key, parser.readValue())
+      }
+    }
+
+    if (parser.nextEvent() != null) {
+      throw JsonException("Invalid Pact document (${parser.documentPointer()}) - found unexpected characters " +
+        "after the pact")
+    }
+
+    return pactJson
+  }
+
   @JvmStatic
   fun extractResponse(responseJson: JsonValue.Object?): Response {
     return if (responseJson != null) {
@@ -342,21 +438,7 @@ object DefaultPactReader : PactReader, KLogging() {
   @JvmStatic
   fun transformJson(pactJson: JsonValue.Object): JsonValue.Object {
     if (pactJson.has("interactions") && pactJson["interactions"] is JsonValue.Array) {
-      pactJson["interactions"] = jsonArray(pactJson["interactions"].asArray().map { i ->
-        if (i is JsonValue.Object) {
-          val interaction = jsonObject(i.entries.entries.map { entry ->
-            when (entry.key) {
-              "provider_state" -> "providerState" to entry.value
-              "request" -> "request" to transformRequestResponseJson(entry.value.asObject())
-              "response" -> "response" to transformRequestResponseJson(entry.value.asObject())
-              else -> entry.toPair()
-            }
-          })
-          interaction
-        } else {
-          i
-        }
-      })
+      pactJson["interactions"] = jsonArray(pactJson["interactions"].asArray().map { i -> transformInteractionJson(i) })
     }
 
     if (pactJson.has("metadata") && pactJson["metadata"] is JsonValue.Object) {
@@ -371,6 +453,21 @@ object DefaultPactReader : PactReader, KLogging() {
     return pactJson
   }
 
+  private fun transformInteractionJson(interaction: JsonValue): JsonValue {
+    return if (interaction is JsonValue.Object) {
+      jsonObject(interaction.entries.entries.map { entry ->
+        when (entry.key) {
+          "provider_state" -> "providerState" to entry.value
+          "request" -> "request" to transformRequestResponseJson(entry.value.asObject())
+          "response" -> "response" to transformRequestResponseJson(entry.value.asObject())
+          else -> entry.toPair()
+        }
+      })
+    } else {
+      interaction
+    }
+  }
+
   private fun transformRequestResponseJson(requestJson: JsonValue.Object?): JsonValue.Object? {
     return if (requestJson != null) {
       jsonObject(requestJson.entries.entries.map { (k, v) ->
@@ -395,23 +492,9 @@ object DefaultPactReader : PactReader, KLogging() {
     } else if (source is InputStream || source is Reader || source is File) {
       return loadPactFromFile(source)
     } else if (source is BrokerUrlSource) {
-      val insecureTLS = Utils.lookupInMap(options, "insecureTLS", Boolean::class.java, false)
-      return HttpClient.newHttpClient(
-        options["authentication"],
-        URI(source.pactBrokerUrl),
-        insecureTLS = insecureTLS
-      ).first.use {
-        loadPactFromUrl(source, options, it)
-      }
+      return loadPactFromBroker(source, options)
     } else if (source is PactBrokerResult) {
-      val insecureTLS = Utils.lookupInMap(options, "insecureTLS", Boolean::class.java, false)
-      return HttpClient.newHttpClient(
-        options["authentication"],
-        URI(source.pactBrokerUrl),
-        insecureTLS = insecureTLS
-      ).first.use {
-        loadPactFromUrl(BrokerUrlSource.fromResult(source, options, source.tag), options, it)
-      }
+      return loadPactFromBroker(BrokerUrlSource.fromResult(source, options, source.tag), options)
     } else if (source is URL || source is UrlPactSource) {
       val urlSource = if (source is URL) UrlSource(source.toString()) else source as UrlPactSource
       return loadPactFromUrl(urlSource, options, newHttpClient(urlSource.url, options))
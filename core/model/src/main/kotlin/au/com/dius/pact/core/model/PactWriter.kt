@@ -1,5 +1,6 @@
 package au.com.dius.pact.core.model
 
+import au.com.dius.pact.core.model.messaging.MessagePact
 import au.com.dius.pact.core.support.Json
 import au.com.dius.pact.core.support.Result
 import au.com.dius.pact.core.support.json.JsonParser
@@ -7,10 +8,10 @@ import au.com.dius.pact.core.support.json.JsonValue
 import io.github.oshai.kotlinlogging.KLogging
 import java.io.ByteArrayOutputStream
 import java.io.File
+import java.io.OutputStreamWriter
 import java.io.PrintWriter
 import java.io.RandomAccessFile
-import java.io.StringWriter
-import java.nio.charset.Charset
+import java.io.Writer
 
 enum class PactWriteMode {
   MERGE, OVERWRITE
@@ -56,14 +57,39 @@ object DefaultPactWriter : PactWriter, KLogging() {
    * @param pactSpecVersion Pact version to use to control writing
    */
   override fun writePact(pact: Pact, writer: PrintWriter, pactSpecVersion: PactSpecVersion) : Result<Int, Throwable> {
-    val json = if (pactSpecVersion >= PactSpecVersion.V4) {
-      Json.prettyPrint(pact.sortInteractions().asV4Pact()
-        .expect { "Failed to upcast to a V4 pact" }.toMap(pactSpecVersion))
+    val map = if (pactSpecVersion >= PactSpecVersion.V4) {
+      pact.sortInteractions().asV4Pact().expect { "Failed to upcast to a V4 pact" }.toMap(pactSpecVersion)
     } else {
-      Json.prettyPrint(pact.sortInteractions().toMap(pactSpecVersion))
+      pact.sortInteractions().toMap(pactSpecVersion)
     }
-    writer.println(json)
-    return Result.Ok(json.toByteArray().size)
+    val out = Utf8CountingWriter(writer)
+    Json.prettyPrintTo(map, out)
+    writer.println()
+    return Result.Ok(out.count)
+  }
+
+  /**
+   * Keeps count of the number of bytes the characters written would be encoded to in UTF-8
+   */
+  private class Utf8CountingWriter(private val out: Writer) : Writer() {
+    var count = 0
+
+    override fun write(cbuf: CharArray, off: Int, len: Int) {
+      for (i in off until off + len) {
+        val c = cbuf[i]
+        count += when {
+          c.code < 0x80 -> 1
+          c.code < 0x800 -> 2
+          Character.isSurrogate(c) -> 2
+          else -> 3
+        }
+      }
+      out.write(cbuf, off, len)
+    }
+
+    override fun flush() = out.flush()
+
+    override fun close() = out.close()
   }
 
   /**
@@ -76,39 +102,126 @@ object DefaultPactWriter : PactWriter, KLogging() {
   }
 
   /**
-   * Writes out the pact to the provided pact file in a manor that is safe for parallel execution
+   * Pact that has been merged in memory and is waiting to be written out (see the pact.writer.deferred property)
+   */
+  private class PendingPact(val pactFile: File, var pactSpecVersion: PactSpecVersion, var pact: Pact)
+
+  private val pending = mutableMapOf<String, PendingPact>()
+  private var shutdownHookRegistered = false
+
+  /**
+   * Writes out the pact to the provided pact file in a manor that is safe for parallel execution. In merge mode, if
+   * the pact.writer.deferred property is set, the pact is merged in memory and written out when [flush] is called
+   * or the JVM exits.
    * @param pactFile File to write to
    * @param pact Pact to write
    * @param pactSpecVersion Pact version to use to control writing
    */
   @Synchronized
   override fun writePact(pactFile: File, pact: Pact, pactSpecVersion: PactSpecVersion) : Result<Int, Throwable> {
-    return if (pactWriteMode() == PactWriteMode.MERGE && pactFile.exists() && pactFile.length() > 0) {
-      val raf = RandomAccessFile(pactFile, "rw")
+    val key = pactFile.absolutePath
+    return if (pactWriteMode() == PactWriteMode.MERGE) {
+      if (deferredWrites()) {
+        val entry = pending[key]
+        if (entry == null) {
+          pending[key] = PendingPact(pactFile, pactSpecVersion, copyOf(pact, pactSpecVersion))
+        } else {
+          entry.pactSpecVersion = pactSpecVersion
+          entry.pact = merge(copyOf(pact, pactSpecVersion), entry.pact)
+        }
+        registerShutdownHook()
+        Result.Ok(0)
+      } else {
+        mergeIntoFile(pactFile, pact, pactSpecVersion)
+      }
+    } else {
+      pending.remove(key)
+      pactFile.parentFile.mkdirs()
+      pactFile.printWriter().use { writePact(pact, it, pactSpecVersion) }
+    }
+  }
+
+  /**
+   * Writes out any pacts that have been merged in memory (see the pact.writer.deferred property). Once a pact has been
+   * written out, it is no longer kept in memory.
+   */
+  @Synchronized
+  fun flush() {
+    pending.keys.toList().forEach { key ->
+      val entry = pending.getValue(key)
+      mergeIntoFile(entry.pactFile, entry.pact, entry.pactSpecVersion)
+      pending.remove(key)
+    }
+  }
+
+  private fun mergeIntoFile(pactFile: File, pact: Pact, pactSpecVersion: PactSpecVersion): Result<Int, Throwable> {
+    pactFile.absoluteFile.parentFile.mkdirs()
+    return RandomAccessFile(pactFile, "rw").use { raf ->
       val lock = raf.channel.lock()
       try {
-        val source = FileSource(pactFile)
-        val json: JsonValue.Object = JsonParser.parseString(readFileUtf8(raf)).downcast()
-        val existingPact = DefaultPactReader.pactFromJson(json, source)
-        val result = PactMerge.merge(pact, existingPact)
-        if (!result.ok) {
-          throw InvalidPactException(result.message)
+        val contents = readFile(raf)
+        val merged = if (contents.isEmpty()) {
+          pact
+        } else {
+          val json: JsonValue.Object = JsonParser.parseString(String(contents, Charsets.UTF_8)).downcast()
+          merge(pact, DefaultPactReader.pactFromJson(json, FileSource(pactFile)))
         }
+
+        val buffer = ByteArrayOutputStream()
+        PrintWriter(OutputStreamWriter(buffer, Charsets.UTF_8)).use { writePact(merged, it, pactSpecVersion) }
+        val bytes = buffer.toByteArray()
         raf.seek(0)
-        val swriter = StringWriter()
-        val writer = PrintWriter(swriter)
-        writePact(result.result!!, writer, pactSpecVersion)
-        val bytes = swriter.toString().toByteArray()
         raf.setLength(bytes.size.toLong())
         raf.write(bytes)
         Result.Ok(bytes.size)
       } finally {
         lock.release()
-        raf.close()
       }
-    } else {
-      pactFile.parentFile.mkdirs()
-      pactFile.printWriter().use { writePact(pact, it, pactSpecVersion) }
+    }
+  }
+
+  private fun merge(pact: Pact, existing: Pact): Pact {
+    val result = PactMerge.merge(pact, existing)
+    if (!result.ok) {
+      throw InvalidPactException(result.message)
+    }
+    return result.result!!
+  }
+
+  /**
+   * Takes a copy of the pact to keep in memory until it is written out. Merging changes the pact it merges into, so
+   * the pacts passed in must not be kept. Only the list of interactions is copied (and the request/response
+   * interactions, as they can be changed); other pact types are copied by round tripping them through JSON.
+   */
+  private fun copyOf(pact: Pact, pactSpecVersion: PactSpecVersion): Pact {
+    return when (pact) {
+      is V4Pact -> V4Pact(pact.consumer, pact.provider, pact.interactions.toMutableList(), pact.metadata, pact.source)
+      is RequestResponsePact -> RequestResponsePact(pact.provider, pact.consumer,
+        pact.interactions.map { if (it is RequestResponseInteraction) it.copy() else it }.toMutableList(),
+        pact.metadata, pact.source)
+      is MessagePact -> MessagePact(pact.provider, pact.consumer, pact.messages.toMutableList(), pact.metadata,
+        pact.source)
+      else -> {
+        val map = if (pactSpecVersion >= PactSpecVersion.V4) {
+          pact.asV4Pact().expect { "Failed to upcast to a V4 pact" }.toMap(pactSpecVersion)
+        } else {
+          pact.toMap(pactSpecVersion)
+        }
+        DefaultPactReader.pactFromJson(Json.toJson(map).downcast(), pact.source)
+      }
+    }
+  }
+
+  private fun registerShutdownHook() {
+    if (!shutdownHookRegistered) {
+      Runtime.getRuntime().addShutdownHook(Thread {
+        try {
+          flush()
+        } catch (e: Exception) {
+          logger.error(e) { "Failed to write out the pact files" }
+        }
+      })
+      shutdownHookRegistered = true
     }
   }
 
@@ -119,17 +232,12 @@ object DefaultPactWriter : PactWriter, KLogging() {
     }
   }
 
-  private fun readFileUtf8(file: RandomAccessFile): String {
-    val buffer = ByteArray(128)
-    val data = ByteArrayOutputStream()
+  private fun deferredWrites() = System.getProperty("pact.writer.deferred") == "true"
 
+  private fun readFile(file: RandomAccessFile): ByteArray {
+    val data = ByteArray(file.length().toInt())
     file.seek(0)
-    var count = file.read(buffer)
-    while (count > 0) {
-      data.write(buffer, 0, count)
-      count = file.read(buffer)
-    }
-
-    return String(data.toByteArray(), Charset.forName("UTF-8"))
+    file.readFully(data)
+    return data
   }
 }
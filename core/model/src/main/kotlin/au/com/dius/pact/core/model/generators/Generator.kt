@@ -4,6 +4,7 @@ import au.com.dius.pact.core.model.PactSpecVersion
 import au.com.dius.pact.core.model.matchingrules.MatchingRuleCategory
 import au.com.dius.pact.core.support.HttpClientUtils.buildUrl
 import au.com.dius.pact.core.support.Json
+import au.com.dius.pact.core.support.RegexCache
 import au.com.dius.pact.core.support.Result
 import au.com.dius.pact.core.support.expressions.DataType
 import au.com.dius.pact.core.support.expressions.ExpressionParser
@@ -255,6 +256,8 @@ data class RandomStringGenerator(val size: Int = 20) : Generator {
  * Generates a random string from the provided regular expression
  */
 data class RegexGenerator(val regex: String) : Generator {
+  private val generex: Generex by lazy { Generex(regex) }
+
   override val type: String
     get() = "Regex"
 
@@ -264,7 +267,7 @@ data class RegexGenerator(val regex: String) : Generator {
 
   override fun generate(context: MutableMap<String, Any>, exampleValue: Any?): Any {
     logger.debug { "Applying Generator $this" }
-    return Generex(regex).random()
+    return synchronized(generex) { generex.random() }
   }
 
   companion object: KLogging() {
@@ -361,6 +364,10 @@ data class DateGenerator @JvmOverloads constructor(
   val format: String? = null,
   val expression: String? = null
 ) : Generator {
+  private val formatter: DateTimeFormatter by lazy {
+    if (!format.isNullOrEmpty()) DateTimeFormatter.ofPattern(format) else DateTimeFormatter.ISO_LOCAL_DATE
+  }
+
   override val type: String
     get() = "Date"
 
@@ -380,11 +387,7 @@ data class DateGenerator @JvmOverloads constructor(
     val base = if (context.containsKey("baseDate")) context["baseDate"] as OffsetDateTime
       else OffsetDateTime.now()
     val date = DateExpression.executeDateExpression(base, expression).getOr(base)
-    return if (!format.isNullOrEmpty()) {
-      date.format(DateTimeFormatter.ofPattern(format))
-    } else {
-      date.format(DateTimeFormatter.ISO_LOCAL_DATE)
-    }
+    return date.format(formatter)
   }
 
   companion object: KLogging() {
@@ -404,6 +407,10 @@ data class TimeGenerator @JvmOverloads constructor(
   val format: String? = null,
   val expression: String? = null
 ) : Generator {
+  private val formatter: DateTimeFormatter by lazy {
+    if (!format.isNullOrEmpty()) DateTimeFormatter.ofPattern(format) else DateTimeFormatter.ofPattern("HH:mm:ss")
+  }
+
   override val type: String
     get() = "Time"
 
@@ -422,11 +429,7 @@ data class TimeGenerator @JvmOverloads constructor(
     logger.debug { "Applying Generator $this" }
     val base = if (context.containsKey("baseTime")) context["baseTime"] as OffsetDateTime else OffsetDateTime.now()
     val time = TimeExpression.executeTimeExpression(base, expression).getOr(base)
-    return if (!format.isNullOrEmpty()) {
-      time.format(DateTimeFormatter.ofPattern(format))
-    } else {
-      time.format(DateTimeFormatter.ofPattern("HH:mm:ss"))
-    }
+    return time.format(formatter)
   }
 
   companion object: KLogging() {
@@ -446,6 +449,13 @@ data class DateTimeGenerator @JvmOverloads constructor(
   val format: String? = null,
   val expression: String? = null
 ) : Generator {
+  /**
+   * Formatter for the format, in the system time zone
+   */
+  private val formatter: DateTimeFormatter? by lazy {
+    if (!format.isNullOrEmpty()) DateTimeFormatter.ofPattern(format).withZone(ZoneId.systemDefault()) else null
+  }
+
   override val type: String
     get() = "DateTime"
 
@@ -465,8 +475,9 @@ data class DateTimeGenerator @JvmOverloads constructor(
     val base = if (context.containsKey("baseDateTime")) context["baseDateTime"] as OffsetDateTime
       else OffsetDateTime.now()
     val datetime = DateTimeExpression.executeExpression(base, expression).getOr(base)
-    return if (!format.isNullOrEmpty()) {
-      datetime.toZonedDateTime().format(DateTimeFormatter.ofPattern(format).withZone(ZoneId.systemDefault()))
+    val formatter = this.formatter
+    return if (formatter != null) {
+      datetime.toZonedDateTime().format(formatter)
     } else {
       datetime.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
     }
@@ -578,7 +589,7 @@ data class MockServerURLGenerator(
         val href = mockServerDetails["href"]?.toString()
         if (href.isNotEmpty()) {
           try {
-            val regex = Regex(regex)
+            val regex = RegexCache.regex(regex)
             val match = regex.matchEntire(example)
             if (match != null) {
               URLDecoder.decode(buildUrl(href!!, match.groupValues[1]).toString(), Charset.defaultCharset())
@@ -12,6 +12,7 @@ import au.com.dius.pact.core.model.matchingrules.expressions.MatchingRuleDefinit
 import au.com.dius.pact.core.model.matchingrules.expressions.ValueType
 import au.com.dius.pact.core.support.Either
 import au.com.dius.pact.core.support.Json
+import au.com.dius.pact.core.support.RegexCache
 import au.com.dius.pact.core.support.json.JsonValue
 import au.com.dius.pact.core.support.json.map
 import io.github.oshai.kotlinlogging.KLogging
@@ -377,6 +378,11 @@ object BooleanMatcher : MatchingRule {
  * Regular Expression Matcher
  */
 data class RegexMatcher @JvmOverloads constructor (val regex: String, val example: String? = null) : MatchingRule {
+  /**
+   * The compiled regex, shared through the regex cache
+   */
+  val compiledRegex: Regex by lazy { RegexCache.regex(regex) }
+
   override fun toMap(spec: PactSpecVersion?) = mapOf("match" to "regex", "regex" to regex)
   override fun validateForVersion(pactVersion: PactSpecVersion?) = emptyList<String>()
 
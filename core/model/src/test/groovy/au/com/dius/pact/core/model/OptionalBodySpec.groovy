@@ -145,13 +145,18 @@ class OptionalBodySpec extends Specification {
     body.contentType.toString() == contentType
 
     where:
-    body                                               | contentType
-    OptionalBody.missing()                             | 'null'
-    OptionalBody.body(''.bytes, ContentType.UNKNOWN)   | 'null'
-    OptionalBody.body('{}'.bytes, ContentType.UNKNOWN) | 'application/json'
-    bodyFromFile('/1070-ApiConsumer-ApiProvider.json') | 'application/json'
-    bodyFromFile('/logback-test.xml')                  | 'application/xml'
-    bodyFromFile('/RAT.JPG')                           | 'image/jpeg'
+    body                                                 | contentType
+    OptionalBody.missing()                               | 'null'
+    OptionalBody.body(''.bytes, ContentType.UNKNOWN)     | 'null'
+    OptionalBody.body('{}'.bytes, ContentType.UNKNOWN)   | 'application/json'
+    OptionalBody.body('<!DOCTYPE html><html/>'.bytes)    | 'text/html'
+    OptionalBody.body('plain text'.bytes)                | 'text/plain'
+    OptionalBody.body('<?xml version="1.0"?><a/>'.bytes) | 'application/xml'
+    OptionalBody.body('<root><a>1</a></root>'.bytes)     | 'application/xml'
+    OptionalBody.body('line 1\r\n\tline 2'.bytes)        | 'text/plain'
+    bodyFromFile('/1070-ApiConsumer-ApiProvider.json')   | 'application/json'
+    bodyFromFile('/logback-test.xml')                    | 'application/xml'
+    bodyFromFile('/RAT.JPG')                             | 'image/jpeg'
   }
 
   @Unroll
@@ -170,6 +175,79 @@ class OptionalBodySpec extends Specification {
     OptionalBody.body('{}'.bytes, ContentType.JSON, ContentTypeHint.BINARY)                             | [content: '{}', contentType: 'application/json', encoded: 'JSON']
   }
 
+  def 'content type is only detected when it was not provided'() {
+    given:
+    def body = OptionalBody.body('{"a": 1}'.bytes, ContentType.TEXT_PLAIN)
+
+    expect:
+    body.contentType == ContentType.TEXT_PLAIN
+
+    when:
+    body.contentType = ContentType.UNKNOWN
+
+    then:
+    body.contentType == ContentType.JSON
+
+    when:
+    body.contentType = ContentType.XML
+
+    then:
+    body.contentType == ContentType.XML
+  }
+
+  def 'parsed values are only computed once for each kind and content type'() {
+    given:
+    def body = OptionalBody.body('{"a": 1}'.bytes, ContentType.JSON)
+    def count = 0
+    def parser = { OptionalBody b -> count++; b.valueAsString().size() }
+
+    when:
+    def first = body.parsedValue('test', parser)
+    def second = body.parsedValue('test', parser)
+    body.parsedValue('other', parser)
+    body.contentType = ContentType.TEXT_PLAIN
+    body.parsedValue('test', parser)
+
+    then:
+    first == 8
+    second == 8
+    count == 3
+  }
+
+  def 'parsed values are not copied or compared'() {
+    given:
+    def body = OptionalBody.body('{"a": 1}'.bytes, ContentType.JSON)
+    body.parsedValue('test') { 'parsed' }
+    def copy = body.copy(body.state, body.value, body.contentType, body.contentTypeHint)
+    def count = 0
+
+    when:
+    copy.parsedValue('test') { count++; 'parsed again' }
+
+    then:
+    count == 1
+    copy == body
+  }
+
+  def 'copies keep the content type, and any content type already detected for the same value'() {
+    given:
+    def body = OptionalBody.body('{"a": 1}'.bytes)
+    body.contentType
+
+    when:
+    def copy = body.copy()
+    def withType = body.copy(body.state, body.value, ContentType.TEXT_PLAIN, body.contentTypeHint)
+    def withValue = body.copy(body.state, '<html></html>'.bytes, ContentType.UNKNOWN, body.contentTypeHint)
+
+    then:
+    copy.@detectedContentType == ContentType.JSON
+    copy.contentType == ContentType.JSON
+    withType.contentType == ContentType.TEXT_PLAIN
+    withType.component3() == ContentType.TEXT_PLAIN
+    withValue.@detectedContentType == null
+    withValue.contentType == ContentType.HTML
+  }
+
   private static OptionalBody bodyFromFile(String file) {
     OptionalBodySpec.getResourceAsStream(file).withCloseable { stream ->
       OptionalBody.body(stream.bytes, ContentType.UNKNOWN)
@@ -2,6 +2,7 @@ package au.com.dius.pact.core.model
 
 import au.com.dius.pact.core.model.messaging.Message
 import au.com.dius.pact.core.model.messaging.MessagePact
+import au.com.dius.pact.core.model.v4.MessageContents
 import spock.lang.Ignore
 import spock.lang.Shared
 import spock.lang.Specification
@@ -275,4 +276,56 @@ class PactMergeSpec extends Specification {
     ]
     result = PactMerge.merge(identicalPact, identicalPact)
   }
+
+  def 'interactions of different types still conflict when their descriptions are different'() {
+    given:
+    def existingPact = new RequestResponsePact(provider, consumer, [
+      new RequestResponseInteraction('test', [new ProviderState('test')], new Request(), new Response(), null)
+    ])
+    def newPact = new V4Pact(consumer, provider, [new V4Interaction.SynchronousHttp('', 'other test')])
+
+    when:
+    def result = PactMerge.merge(newPact, existingPact)
+
+    then:
+    !result.ok
+    result.message.startsWith('Cannot merge pacts as there were 1 conflict(s) between the interactions')
+  }
+
+  def 'merging into a large pact'() {
+    given:
+    def existingPact = new RequestResponsePact(provider, consumer, (1..5000).collect {
+      new RequestResponseInteraction("test $it", [new ProviderState("state ${it % 50}")], new Request(),
+        new Response(), null)
+    })
+    def newPact = new RequestResponsePact(provider, consumer, (4801..5300).collect {
+      new RequestResponseInteraction("test $it", [new ProviderState("state ${it % 50}")], new Request('POST'),
+        new Response(), null)
+    })
+
+    when:
+    def result = PactMerge.merge(newPact, existingPact)
+
+    then:
+    result.ok
+    result.result.interactions.size() == 5300
+  }
+
+  def 'merging into a large pact with both HTTP and message interactions'() {
+    given:
+    def createInteraction = { int i ->
+      i % 2 == 0 ? new V4Interaction.SynchronousHttp(null, "test $i", [new ProviderState("state ${i % 50}")]) :
+        new V4Interaction.AsynchronousMessage(null, "test $i", new MessageContents(), null,
+          [new ProviderState("state ${i % 50}")])
+    }
+    def existingPact = new V4Pact(consumer, provider, (1..5000).collect(createInteraction))
+    def newPact = new V4Pact(consumer, provider, (5001..5300).collect(createInteraction))
+
+    when:
+    def result = PactMerge.merge(newPact, existingPact)
+
+    then:
+    result.ok
+    result.result.interactions.size() == 5300
+  }
 }
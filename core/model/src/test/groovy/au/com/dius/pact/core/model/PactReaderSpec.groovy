@@ -398,4 +398,32 @@ class PactReaderSpec extends Specification {
     pact.interactions[0].request.determineContentType().baseType == 'multipart/form-data'
     pact.interactions[0].request.body.valueAsString().startsWith('--lk9eSoRxJdPHMNbDpbvOYepMB0gWDyQPWo\r\nContent-Disposition: form-data; name="photo"; filename="ron.jpg"\r\nContent-Type: image/jpeg')
   }
+
+  @Unroll
+  def 'streaming loader returns the same pact as the tree based loader - #file'() {
+    given:
+    def pactUrl = PactReaderSpec.classLoader.getResource(file)
+    def source = new UrlSource(pactUrl.toString())
+    def json = JsonParser.INSTANCE.parseString(pactUrl.text)
+
+    when:
+    def expected = DefaultPactReader.INSTANCE."$loader"(source, json)
+    def pact = pactUrl.withReader { DefaultPactReader.INSTANCE."$loader"(source, it) }
+
+    then:
+    pact.class == expected.class
+    pact.interactions.size() == expected.interactions.size()
+    pact.toMap(version) == expected.toMap(version)
+    pact.source == source
+
+    where:
+
+    file                         | loader       | version
+    'v3-pact.json'               | 'loadV3Pact' | PactSpecVersion.V3
+    'v3-pact-old-format.json'    | 'loadV3Pact' | PactSpecVersion.V3
+    'v3-message-pact.json'       | 'loadV3Pact' | PactSpecVersion.V3
+    'v4-http-pact.json'          | 'loadV4Pact' | PactSpecVersion.V4
+    'v4-combined-pact.json'      | 'loadV4Pact' | PactSpecVersion.V4
+    'v4-sync-messages-pact.json' | 'loadV4Pact' | PactSpecVersion.V4
+  }
 }
@@ -393,4 +393,89 @@ class PactWriterSpec extends Specification {
     def ex = thrown(IllegalArgumentException)
     ex.message == 'A Synchronous Messages interaction can not be written to a V3 pact file'
   }
+
+  def 'merging picks up changes to the file made by another process'() {
+    given:
+    def request = new Request()
+    def response = new Response()
+    def pact = new RequestResponsePact(new Provider('PactWriterSpecProvider'),
+      new Consumer('PactWriterSpecConsumer'), [new RequestResponseInteraction('test interaction', [], request, response)])
+    def other = new RequestResponsePact(new Provider('PactWriterSpecProvider'),
+      new Consumer('PactWriterSpecConsumer'), [new RequestResponseInteraction('other process', [], request, response)])
+    def file = File.createTempFile('PactWriterSpec', '.json')
+
+    when:
+    DefaultPactWriter.INSTANCE.writePact(file, pact, PactSpecVersion.V3)
+    def sw = new StringWriter()
+    DefaultPactWriter.INSTANCE.writePact(other, new PrintWriter(sw), PactSpecVersion.V3)
+    def json = Json.INSTANCE.toMap(JsonParser.INSTANCE.parseString(sw.toString()))
+    json.interactions << Json.INSTANCE.toMap(JsonParser.INSTANCE.parseString(file.text)).interactions.first()
+    file.text = Json.INSTANCE.prettyPrint(json)
+    DefaultPactWriter.INSTANCE.writePact(file, new RequestResponsePact(new Provider('PactWriterSpecProvider'),
+      new Consumer('PactWriterSpecConsumer'), [new RequestResponseInteraction('third', [], request, response)]),
+      PactSpecVersion.V3)
+    def result = file.withReader { Json.INSTANCE.toMap(JsonParser.INSTANCE.parseReader(it)) }
+
+    then:
+    result.interactions*.description == ['other process', 'test interaction', 'third']
+
+    cleanup:
+    file.delete()
+  }
+
+  @RestoreSystemProperties
+  def 'with deferred writes, the pacts passed in are not changed and flushed pacts are not kept'() {
+    given:
+    def request = new Request()
+    def response = new Response()
+    def file = new File(File.createTempDir(), 'deferred-pact.json')
+    def pact1 = new RequestResponsePact(new Provider('PactWriterSpecProvider'),
+      new Consumer('PactWriterSpecConsumer'), [new RequestResponseInteraction('one', [], request, response)])
+    def pact2 = new RequestResponsePact(new Provider('PactWriterSpecProvider'),
+      new Consumer('PactWriterSpecConsumer'), [new RequestResponseInteraction('two', [], request, response)])
+    System.setProperty('pact.writer.deferred', 'true')
+
+    when:
+    DefaultPactWriter.INSTANCE.writePact(file, pact1, PactSpecVersion.V3)
+    DefaultPactWriter.INSTANCE.writePact(file, pact2, PactSpecVersion.V3)
+    DefaultPactWriter.INSTANCE.flush()
+    file.delete()
+    DefaultPactWriter.INSTANCE.flush()
+
+    then:
+    pact1.interactions*.description == ['one']
+    pact2.interactions*.description == ['two']
+    !file.exists()
+
+    cleanup:
+    file.delete()
+    file.parentFile.delete()
+  }
+
+  @RestoreSystemProperties
+  def 'with deferred writes, pacts are merged in memory and written when flushed'() {
+    given:
+    def request = new Request()
+    def response = new Response()
+    def file = new File(File.createTempDir(), 'deferred-pact.json')
+    System.setProperty('pact.writer.deferred', 'true')
+
+    when:
+    ['one', 'two', 'three'].each {
+      def pact = new RequestResponsePact(new Provider('PactWriterSpecProvider'),
+        new Consumer('PactWriterSpecConsumer'), [new RequestResponseInteraction(it, [], request, response)])
+      DefaultPactWriter.INSTANCE.writePact(file, pact, PactSpecVersion.V3)
+    }
+    def existsBeforeFlush = file.exists()
+    DefaultPactWriter.INSTANCE.flush()
+    def json = file.withReader { Json.INSTANCE.toMap(JsonParser.INSTANCE.parseReader(it)) }
+
+    then:
+    !existsBeforeFlush
+    json.interactions*.description == ['one', 'three', 'two']
+
+    cleanup:
+    file.delete()
+    file.parentFile.delete()
+  }
 }
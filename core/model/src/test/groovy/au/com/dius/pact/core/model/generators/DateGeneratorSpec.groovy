@@ -33,4 +33,20 @@ class DateGeneratorSpec extends Specification {
     DateGenerator.@Companion.fromJson(json).generate([baseDate: baseWithTime], null) == baseDate.toString()
   }
 
+  def 'the formatter is reused between calls and does not affect equality'() {
+    given:
+    def generator = new DateGenerator('yyyy-MM-dd', null)
+    def base = LocalDate.now().atTime(OffsetTime.now())
+
+    when:
+    def first = generator.generate([baseDate: base], null)
+    def second = generator.generate([baseDate: base.plusDays(1)], null)
+
+    then:
+    first == base.format('yyyy-MM-dd')
+    second == base.plusDays(1).format('yyyy-MM-dd')
+    generator == new DateGenerator('yyyy-MM-dd', null)
+    generator.hashCode() == new DateGenerator('yyyy-MM-dd', null).hashCode()
+  }
+
 }
@@ -27,6 +27,7 @@ import org.apache.hc.core5.http.ClassicHttpResponse
 import org.apache.hc.core5.http.ContentType
 import org.apache.hc.core5.http.HttpHost
 import org.apache.hc.core5.http.HttpMessage
+import org.apache.hc.core5.http.HttpStatus
 import org.apache.hc.core5.http.io.entity.EntityUtils
 import org.apache.hc.core5.http.io.entity.StringEntity
 import java.net.URI
@@ -218,6 +219,7 @@ open class HalClient @JvmOverloads constructor(
     }
   }
 
+  @Synchronized
   open fun setupHttpClient(): CloseableHttpClient {
     if (httpClient == null) {
       if (options.containsKey("authentication") && options["authentication"] !is Auth &&
@@ -280,6 +282,75 @@ open class HalClient @JvmOverloads constructor(
     } as Result<JsonValue.Object, Exception>
   }
 
+  /**
+   * Fetches the HAL document from the provided path, using the cache to avoid downloading it again if it has not
+   * changed. If the document has been cached, a conditional request is made with the cached ETag and Last-Modified
+   * values, and the cached document is used if the response is 304 Not Modified.
+   * @param path The path to the HAL document. If it is a relative path, it is relative to the base URL
+   * @param encodePath If the path should be encoded
+   * @param cache Cache to use
+   */
+  open fun fetch(path: String, encodePath: Boolean, cache: PactCache): Result<JsonValue.Object, Exception> {
+    lastUrl = path
+    logger.debug { "Fetching: $path (using cache ${cache.directory})" }
+    setupHttpClient()
+    val result = handleWith<JsonValue> {
+      val url = buildUrl(baseUrl, path, encodePath)
+      val key = url.toString()
+      var cached = cache.lookup(key)
+      var document = fetchConditionally(url, path, cache, cached)
+      if (document == null) {
+        logger.debug { "Cached document for $key is missing, fetching it again" }
+        cache.remove(key)
+        cached = null
+        document = fetchConditionally(url, path, cache, cached)
+      }
+      document
+    }
+    return when (result) {
+      is Result.Ok -> when (result.value) {
+        is JsonValue.Object -> Result.Ok(result.value)
+        else -> Result.Err(RuntimeException("Expected a JSON document, but found a ${result.value}"))
+      }
+      is Result.Err -> result
+    } as Result<JsonValue.Object, Exception>
+  }
+
+  /**
+   * Returns the parsed document, or null if the server responded with Not Modified but the cached document is missing
+   */
+  private fun fetchConditionally(url: URI, path: String, cache: PactCache, cached: PactCache.Entry?): Any? {
+    val httpGet = initialiseRequest(HttpGet(url))
+    httpGet.addHeader("Content-Type", "application/json")
+    httpGet.addHeader("Accept", "application/hal+json, application/json")
+    if (cached?.etag != null) {
+      httpGet.addHeader("If-None-Match", cached.etag)
+    }
+    if (cached?.lastModified != null) {
+      httpGet.addHeader("If-Modified-Since", cached.lastModified)
+    }
+
+    return httpClient!!.execute(httpGet, httpContext) { response ->
+      if (response.code == HttpStatus.SC_NOT_MODIFIED && cached != null) {
+        logger.debug { "$url has not been modified, using the cached document" }
+        cache.contents(cached)?.let { Result.Ok(JsonParser.parseStream(it.inputStream())) }
+      } else if (response.code < 300 && isJsonResponse(ContentType.parseLenient(response.entity.contentType))) {
+        val body = EntityUtils.toByteArray(response.entity)
+        val etag = response.getFirstHeader("ETag")?.value
+        val lastModified = response.getFirstHeader("Last-Modified")?.value
+        if (etag != null || lastModified != null) {
+          cache.store(url.toString(), etag, lastModified, body)
+        } else if (cached != null) {
+          // The document can no longer be validated, so the old entry must not be sent with the next request
+          cache.remove(url.toString())
+        }
+        Result.Ok(JsonParser.parseStream(body.inputStream()))
+      } else {
+        handleHalResponse(response, path)
+      }
+    }
+  }
+
   override fun withDocContext(docAttributes: Map<String, Any?>): IHalClient {
     val links = JsonValue.Object()
     links[LINKS] = jsonObject(docAttributes.entries.map {
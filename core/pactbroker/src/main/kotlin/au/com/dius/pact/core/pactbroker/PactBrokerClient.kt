@@ -431,6 +431,11 @@ open class PactBrokerClient(
   @Deprecated("Use the version that takes PactBrokerClientConfig")
   constructor(pactBrokerUrl: String) : this(pactBrokerUrl, mutableMapOf(), PactBrokerClientConfig())
 
+  /**
+   * HAL client used to fetch pacts, shared so that fetching a number of pacts reuses the same HTTP connections
+   */
+  private val pactHalClient by lazy { newHalClient() }
+
   /**
    * Fetches all consumers for the given provider
    */
@@ -780,7 +785,13 @@ open class PactBrokerClient(
   }
 
   open fun fetchPact(url: String, encodePath: Boolean = true): PactResponse {
-    val halDoc = newHalClient().fetch(url, encodePath).unwrap()
+    val halClient = pactHalClient
+    val cache = PactCache.fromSystemProperties()
+    val halDoc = if (cache != null && halClient is HalClient) {
+      halClient.fetch(url, encodePath, cache).unwrap()
+    } else {
+      halClient.fetch(url, encodePath).unwrap()
+    }
     return PactResponse(halDoc, HalClient.asMap(halDoc["_links"].asObject()))
   }
 
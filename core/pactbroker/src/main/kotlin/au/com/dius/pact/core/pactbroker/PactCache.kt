@@ -0,0 +1,113 @@
+package au.com.dius.pact.core.pactbroker
+
+import au.com.dius.pact.core.support.Json
+import au.com.dius.pact.core.support.json.JsonException
+import au.com.dius.pact.core.support.json.JsonParser
+import au.com.dius.pact.core.support.jsonObject
+import com.google.common.hash.Hashing
+import io.github.oshai.kotlinlogging.KLogging
+import java.io.File
+import java.io.IOException
+import java.nio.file.Files
+import java.nio.file.StandardCopyOption
+
+/**
+ * On-disk cache of the documents fetched from the Pact Broker. For each URL, the ETag and Last-Modified headers of the
+ * response are stored, so the document can be revalidated with a conditional request. The documents are stored by
+ * the SHA-256 hash of their contents, so a document shared by more than one URL is only stored once.
+ *
+ * The cache is enabled by setting the `pactbroker.cache.dir` system property to the cache directory.
+ */
+class PactCache(val directory: File) {
+
+  /**
+   * Cached details for a URL
+   */
+  data class Entry(val url: String, val etag: String?, val lastModified: String?, val digest: String)
+
+  private val indexDir = File(directory, "index")
+  private val contentDir = File(directory, "content")
+
+  /**
+   * Returns the cached details for the URL, or null if the URL has not been cached
+   */
+  fun lookup(url: String): Entry? {
+    val file = indexFile(url)
+    return if (file.exists()) {
+      try {
+        val json = JsonParser.parseString(file.readText())
+        Entry(url, json["etag"].asString(), json["lastModified"].asString(), Json.toString(json["digest"]))
+      } catch (e: JsonException) {
+        logger.warn(e) { "Ignoring invalid pact cache entry $file" }
+        null
+      }
+    } else {
+      null
+    }
+  }
+
+  /**
+   * Returns the cached document for the entry, or null if it is no longer in the cache
+   */
+  fun contents(entry: Entry): ByteArray? {
+    val file = File(contentDir, entry.digest)
+    return if (file.exists()) file.readBytes() else null
+  }
+
+  /**
+   * Stores the document fetched from the URL, along with the ETag and Last-Modified values of the response
+   */
+  fun store(url: String, etag: String?, lastModified: String?, body: ByteArray): Entry {
+    val digest = Hashing.sha256().hashBytes(body).toString()
+    val contentFile = File(contentDir, digest)
+    if (!contentFile.exists()) {
+      write(contentFile, body)
+    }
+    val json = jsonObject(
+      "url" to url,
+      "etag" to etag,
+      "lastModified" to lastModified,
+      "digest" to digest
+    )
+    write(indexFile(url), json.serialise().toByteArray())
+    return Entry(url, etag, lastModified, digest)
+  }
+
+  /**
+   * Removes the entry for the URL. The document is left in the cache, as other URLs may refer to it.
+   */
+  fun remove(url: String) {
+    indexFile(url).delete()
+  }
+
+  private fun indexFile(url: String) =
+    File(indexDir, Hashing.sha256().hashString(url, Charsets.UTF_8).toString() + ".json")
+
+  /**
+   * Writes to a temporary file first, so concurrent readers never see a partially written file
+   */
+  private fun write(file: File, contents: ByteArray) {
+    file.parentFile.mkdirs()
+    val temp = Files.createTempFile(file.parentFile.toPath(), file.name, ".tmp")
+    try {
+      Files.write(temp, contents)
+      Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+    } catch (e: IOException) {
+      Files.deleteIfExists(temp)
+      throw e
+    }
+  }
+
+  companion object : KLogging() {
+    const val CACHE_DIR = "pactbroker.cache.dir"
+
+    /**
+     * Returns the cache configured with the `pactbroker.cache.dir` system property, or null if it is not set
+     */
+    @JvmStatic
+    fun fromSystemProperties(): PactCache? {
+      val dir = System.getProperty(CACHE_DIR)
+      return if (dir.isNullOrBlank()) null else PactCache(File(dir))
+    }
+  }
+}
@@ -0,0 +1,147 @@
+package au.com.dius.pact.core.pactbroker
+
+import au.com.dius.pact.core.support.json.JsonParser
+import com.sun.net.httpserver.HttpExchange
+import com.sun.net.httpserver.HttpServer
+import spock.lang.Specification
+
+class HalClientCacheSpec extends Specification {
+
+  private HttpServer server
+  private File dir
+  private PactCache cache
+  private HalClient client
+  private String url
+  private List<Map<String, String>> requests
+  private List<Integer> bodiesSent
+  private Closure<Void> handler
+
+  def setup() {
+    requests = []
+    bodiesSent = []
+    server = HttpServer.create(new InetSocketAddress('localhost', 0), 0)
+    server.createContext('/pacts/1') { HttpExchange exchange ->
+      requests << [
+        ifNoneMatch: exchange.requestHeaders.getFirst('If-None-Match'),
+        ifModifiedSince: exchange.requestHeaders.getFirst('If-Modified-Since')
+      ]
+      handler(exchange)
+      exchange.close()
+    }
+    server.start()
+    url = "http://localhost:${server.address.port}/pacts/1"
+    dir = File.createTempDir()
+    cache = new PactCache(dir)
+    client = new HalClient("http://localhost:${server.address.port}", [:], new PactBrokerClientConfig())
+  }
+
+  def cleanup() {
+    server.stop(0)
+    client.httpClient?.close()
+    dir.deleteDir()
+  }
+
+  private void respondWith(String body, String etag, String lastModified) {
+    handler = { HttpExchange exchange ->
+      def ifNoneMatch = exchange.requestHeaders.getFirst('If-None-Match')
+      if (ifNoneMatch != null && ifNoneMatch == etag) {
+        exchange.sendResponseHeaders(304, -1)
+      } else {
+        def bytes = body.bytes
+        exchange.responseHeaders.add('Content-Type', 'application/hal+json')
+        if (etag != null) {
+          exchange.responseHeaders.add('ETag', etag)
+        }
+        if (lastModified != null) {
+          exchange.responseHeaders.add('Last-Modified', lastModified)
+        }
+        exchange.sendResponseHeaders(200, bytes.length)
+        exchange.responseBody.write(bytes)
+        bodiesSent << bytes.length
+      }
+    }
+  }
+
+  def 'the first fetch sends no conditional headers and stores the document'() {
+    given:
+    respondWith('{"consumer": {"name": "a"}}', '"1"', 'Wed, 21 Oct 2015 07:28:00 GMT')
+
+    when:
+    def result = client.fetch(url, false, cache)
+
+    then:
+    result.value == JsonParser.parseString('{"consumer": {"name": "a"}}')
+    requests == [[ifNoneMatch: null, ifModifiedSince: null]]
+    cache.lookup(url).etag == '"1"'
+  }
+
+  def 'sends the cached ETag and Last-Modified values and uses the cached document on a 304'() {
+    given:
+    respondWith('{"consumer": {"name": "a"}}', '"1"', 'Wed, 21 Oct 2015 07:28:00 GMT')
+    client.fetch(url, false, cache)
+
+    when:
+    def result = client.fetch(url, false, cache)
+
+    then:
+    result.value == JsonParser.parseString('{"consumer": {"name": "a"}}')
+    requests[1] == [ifNoneMatch: '"1"', ifModifiedSince: 'Wed, 21 Oct 2015 07:28:00 GMT']
+    bodiesSent.size() == 1
+  }
+
+  def 'a changed document replaces the cached entry'() {
+    given:
+    respondWith('{"consumer": {"name": "a"}}', '"1"', 'Wed, 21 Oct 2015 07:28:00 GMT')
+    client.fetch(url, false, cache)
+    def oldEntry = cache.lookup(url)
+    respondWith('{"consumer": {"name": "b"}}', '"2"', 'Thu, 22 Oct 2015 07:28:00 GMT')
+
+    when:
+    def result = client.fetch(url, false, cache)
+    def entry = cache.lookup(url)
+
+    then:
+    result.value == JsonParser.parseString('{"consumer": {"name": "b"}}')
+    requests[1].ifNoneMatch == '"1"'
+    entry.etag == '"2"'
+    entry.lastModified == 'Thu, 22 Oct 2015 07:28:00 GMT'
+    entry.digest != oldEntry.digest
+    new String(cache.contents(entry)) == '{"consumer": {"name": "b"}}'
+  }
+
+  def 'fetches the document again if the server responds with a 304 but the cached document is missing'() {
+    given:
+    respondWith('{"consumer": {"name": "a"}}', '"1"', 'Wed, 21 Oct 2015 07:28:00 GMT')
+    client.fetch(url, false, cache)
+    new File(dir, 'content').listFiles()*.delete()
+
+    when:
+    def result = client.fetch(url, false, cache)
+
+    then:
+    result.value == JsonParser.parseString('{"consumer": {"name": "a"}}')
+    requests.size() == 3
+    requests[1].ifNoneMatch == '"1"'
+    requests[2] == [ifNoneMatch: null, ifModifiedSince: null]
+    bodiesSent.size() == 2
+    cache.contents(cache.lookup(url)) != null
+  }
+
+  def 'removes the cached entry if the changed document has no ETag or Last-Modified header'() {
+    given:
+    respondWith('{"consumer": {"name": "a"}}', '"1"', 'Wed, 21 Oct 2015 07:28:00 GMT')
+    client.fetch(url, false, cache)
+    respondWith('{"consumer": {"name": "b"}}', null, null)
+
+    when:
+    def result = client.fetch(url, false, cache)
+    client.fetch(url, false, cache)
+
+    then:
+    result.value == JsonParser.parseString('{"consumer": {"name": "b"}}')
+    cache.lookup(url) == null
+    requests[1].ifNoneMatch == '"1"'
+    requests[2] == [ifNoneMatch: null, ifModifiedSince: null]
+    bodiesSent.size() == 3
+  }
+}
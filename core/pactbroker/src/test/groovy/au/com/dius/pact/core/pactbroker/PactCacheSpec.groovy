@@ -0,0 +1,104 @@
+package au.com.dius.pact.core.pactbroker
+
+import spock.lang.Specification
+
+class PactCacheSpec extends Specification {
+
+  private File dir
+  private PactCache cache
+
+  def setup() {
+    dir = File.createTempDir()
+    cache = new PactCache(dir)
+  }
+
+  def cleanup() {
+    dir.deleteDir()
+  }
+
+  def 'returns null for a URL that has not been cached'() {
+    expect:
+    cache.lookup('http://broker/pacts/1') == null
+  }
+
+  def 'stores the response headers and contents for the URL'() {
+    given:
+    def body = '{"consumer": {"name": "a"}}'.bytes
+
+    when:
+    cache.store('http://broker/pacts/1', '"abc"', 'Wed, 21 Oct 2015 07:28:00 GMT', body)
+    def entry = cache.lookup('http://broker/pacts/1')
+
+    then:
+    entry.url == 'http://broker/pacts/1'
+    entry.etag == '"abc"'
+    entry.lastModified == 'Wed, 21 Oct 2015 07:28:00 GMT'
+    cache.contents(entry) == body
+  }
+
+  def 'missing headers are stored as null'() {
+    when:
+    cache.store('http://broker/pacts/1', '"abc"', null, '{}'.bytes)
+
+    then:
+    cache.lookup('http://broker/pacts/1').lastModified == null
+  }
+
+  def 'the same document fetched from different URLs is only stored once'() {
+    given:
+    def body = '{"consumer": {"name": "a"}}'.bytes
+
+    when:
+    def entry1 = cache.store('http://broker/pacts/1', '"1"', null, body)
+    def entry2 = cache.store('http://broker/pacts/latest', '"2"', null, body)
+
+    then:
+    entry1.digest == entry2.digest
+    new File(dir, 'content').listFiles().size() == 1
+  }
+
+  def 'removing an entry keeps the document for other URLs'() {
+    given:
+    def body = '{}'.bytes
+    cache.store('http://broker/pacts/1', '"1"', null, body)
+    cache.store('http://broker/pacts/2', '"1"', null, body)
+
+    when:
+    cache.remove('http://broker/pacts/1')
+
+    then:
+    cache.lookup('http://broker/pacts/1') == null
+    cache.contents(cache.lookup('http://broker/pacts/2')) == body
+  }
+
+  def 'ignores invalid index entries'() {
+    given:
+    cache.store('http://broker/pacts/1', '"1"', null, '{}'.bytes)
+    new File(dir, 'index').listFiles().first().text = 'not json'
+
+    expect:
+    cache.lookup('http://broker/pacts/1') == null
+  }
+
+  def 'cache is only enabled when the cache directory property is set'() {
+    given:
+    def previous = System.getProperty(PactCache.CACHE_DIR)
+
+    when:
+    System.clearProperty(PactCache.CACHE_DIR)
+    def disabled = PactCache.fromSystemProperties()
+    System.setProperty(PactCache.CACHE_DIR, dir.path)
+    def enabled = PactCache.fromSystemProperties()
+
+    then:
+    disabled == null
+    enabled.directory == dir
+
+    cleanup:
+    if (previous == null) {
+      System.clearProperty(PactCache.CACHE_DIR)
+    } else {
+      System.setProperty(PactCache.CACHE_DIR, previous)
+    }
+  }
+}
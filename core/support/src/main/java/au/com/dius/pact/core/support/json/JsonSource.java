@@ -1,8 +1,22 @@
 package au.com.dius.pact.core.support.json;
 
+/**
+ * Source of characters for the JSON lexer. Characters are returned as primitive ints so that no boxing occurs while
+ * scanning a document, with {@link #EOF} signalling the end of the input.
+ */
 public abstract class JsonSource {
-  public abstract Character nextChar();
-  public abstract Character peekNextChar();
+  public static final int EOF = -1;
+
+  /**
+   * Returns the next character and advances the source, or {@link #EOF} if there are no more characters
+   */
+  public abstract int nextChar();
+
+  /**
+   * Returns the next character without advancing the source, or {@link #EOF} if there are no more characters
+   */
+  public abstract int peekNextChar();
+
   public abstract void advance(int count);
 
   protected long line = 0;
@@ -15,4 +29,13 @@ public abstract class JsonSource {
   public String documentPointer() {
     return String.format("%d:%d", line + 1, character + 1);
   }
+
+  protected void updatePosition(int ch) {
+    if (ch == '\n') {
+      character = 0;
+      line++;
+    } else {
+      character++;
+    }
+  }
 }
@@ -2,76 +2,78 @@ package au.com.dius.pact.core.support.json;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 
+/**
+ * JSON source that reads from a Reader in blocks into an internal buffer, so the underlying reader does not need to
+ * be buffered.
+ */
 public class ReaderSource extends JsonSource {
-  private Reader reader;
-  private Character buffer = null;
+  public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+  private final Reader reader;
+  private final char[] buffer;
+  private int position = 0;
+  private int limit = 0;
+  private boolean endOfInput = false;
 
   public ReaderSource(Reader reader) {
+    this(reader, DEFAULT_BUFFER_SIZE);
+  }
+
+  public ReaderSource(Reader reader, int bufferSize) {
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException("Buffer size must be greater than zero, got " + bufferSize);
+    }
     this.reader = reader;
+    this.buffer = new char[bufferSize];
   }
 
-  public Character nextChar() {
-    if (buffer != null) {
-      Character c = buffer;
-      buffer = null;
-      return c;
-    } else {
-      int next = 0;
-      try {
-        next = reader.read();
-      } catch (IOException e) {
-        throw new RuntimeException(e);
-      }
-      if (next == -1) {
-        return null;
-      } else {
-        if (next == '\n') {
-          character = 0;
-          line++;
-        } else {
-          character++;
-        }
-        return (char) next;
-      }
+  public int nextChar() {
+    if (position >= limit && !fill()) {
+      return EOF;
     }
+    char c = buffer[position++];
+    updatePosition(c);
+    return c;
   }
 
-  public Character peekNextChar() {
-    if (buffer == null) {
-      int next = 0;
-      try {
-        next = reader.read();
-      } catch (IOException e) {
-        throw new RuntimeException(e);
-      }
-      if (next == -1) {
-        buffer = null;
-      } else {
-        buffer = (char) next;
-      }
+  public int peekNextChar() {
+    if (position >= limit && !fill()) {
+      return EOF;
     }
-    return buffer;
+    return buffer[position];
   }
 
   public void advance(int count) {
-    int charsToSkip = count;
-    if (buffer != null) {
-      buffer = null;
-      charsToSkip = count - 1;
+    for (int i = 0; i < count; i++) {
+      if (position >= limit && !fill()) {
+        return;
+      }
+      updatePosition(buffer[position++]);
+    }
+  }
+
+  private boolean fill() {
+    if (endOfInput) {
+      return false;
     }
     try {
-      for (int i = 0; i < charsToSkip; i++) {
-        int next = reader.read();
-        if (next == '\n') {
-          character = 0;
-          line++;
-        } else {
-          character++;
-        }
+      int read;
+      do {
+        read = reader.read(buffer, 0, buffer.length);
+      } while (read == 0);
+      if (read < 0) {
+        endOfInput = true;
+        position = 0;
+        limit = 0;
+        return false;
       }
+      position = 0;
+      limit = read;
+      return true;
     } catch (IOException e) {
-      throw new RuntimeException(e);
+      throw new UncheckedIOException(e);
     }
   }
 }
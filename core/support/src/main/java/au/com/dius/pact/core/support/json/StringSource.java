@@ -1,44 +1,34 @@
 package au.com.dius.pact.core.support.json;
 
 public class StringSource extends JsonSource {
-  private char[] json;
+  private final char[] json;
   private int index = 0;
 
   public StringSource(char[] json) {
     this.json = json;
   }
 
-  public Character nextChar() {
-    Character c = peekNextChar();
-    if (c != null) {
-      if (c == '\n') {
-        character = 0;
-        line++;
-      } else {
-        character++;
-      }
-      index++;
+  public int nextChar() {
+    if (index >= json.length) {
+      return EOF;
+    } else {
+      char c = json[index++];
+      updatePosition(c);
+      return c;
     }
-    return c;
   }
 
-  public Character peekNextChar() {
+  public int peekNextChar() {
     if (index >= json.length) {
-      return null;
+      return EOF;
     } else {
       return json[index];
     }
   }
 
   public void advance(int count) {
-    for (int i = 0; i < count; i++) {
-      char next = json[index++];
-      if (next == '\n') {
-        character = 0;
-        line++;
-      } else {
-        character++;
-      }
+    for (int i = 0; i < count && index < json.length; i++) {
+      updatePosition(json[index++]);
     }
   }
 }
@@ -82,11 +82,18 @@ object Json {
   fun prettyPrint(json: String) = JsonParser.parseString(json).prettyPrint()
 
   fun prettyPrint(json: String, writer: Writer) {
-    writer.write(JsonParser.parseString(json).prettyPrint())
+    JsonParser.parseString(json).prettyPrintTo(writer)
   }
 
   fun prettyPrint(obj: Any) = toJson(obj).prettyPrint()
 
+  /**
+   * Pretty prints the Object graph directly to the Appendable
+   */
+  fun prettyPrintTo(obj: Any, out: Appendable) {
+    toJson(obj).prettyPrintTo(out)
+  }
+
   fun exceptionToJson(exp: Exception) = JsonValue.Object(mutableMapOf("message" to toJson(exp.message),
     "exceptionClass" to toJson(exp.javaClass.name)))
 
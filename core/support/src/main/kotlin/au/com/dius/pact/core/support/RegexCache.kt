@@ -0,0 +1,92 @@
+package au.com.dius.pact.core.support
+
+import io.github.oshai.kotlinlogging.KLogging
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Cache of compiled regular expressions. Matching rules, paths and content type keys are the same for every request,
+ * so they only need to be compiled once. The cache is bounded by the `pact.matching.regexCacheSize` system property
+ * (default is 1000 patterns), which is read when the cache is created and when it is cleared.
+ *
+ * When the cache is full, arbitrary entries are evicted to make room, not the least recently used ones. The bound is
+ * approximate: threads adding patterns at the same time can take the cache slightly over the maximum size.
+ */
+object RegexCache : KLogging() {
+  private const val DEFAULT_MAX_SIZE = 1000
+  const val MAX_SIZE = "pact.matching.regexCacheSize"
+
+  private data class Key(val pattern: String, val options: Set<RegexOption>)
+
+  private val cache = ConcurrentHashMap<Key, Regex>()
+  private val hits = AtomicLong()
+  private val misses = AtomicLong()
+  @Volatile
+  private var maxEntries = readMaxSize()
+
+  /**
+   * Maximum number of compiled patterns to keep
+   */
+  @JvmStatic
+  fun maxSize(): Int = maxEntries
+
+  private fun readMaxSize() =
+    System.getProperty(MAX_SIZE)?.trim()?.toIntOrNull()?.takeIf { it > 0 } ?: DEFAULT_MAX_SIZE
+
+  /**
+   * Returns the compiled regex for the pattern and options, compiling it if it is not in the cache. Patterns that fail
+   * to compile are not cached, and the exception is thrown to the caller.
+   */
+  @JvmStatic
+  @JvmOverloads
+  fun regex(pattern: String, options: Set<RegexOption> = emptySet()): Regex {
+    val key = Key(pattern, options)
+    val cached = cache[key]
+    if (cached != null) {
+      hits.incrementAndGet()
+      return cached
+    }
+
+    misses.incrementAndGet()
+    val regex = Regex(pattern, options)
+    val max = maxEntries
+    if (cache.size >= max) {
+      val iterator = cache.keys.iterator()
+      while (cache.size >= max && iterator.hasNext()) {
+        iterator.next()
+        iterator.remove()
+      }
+    }
+    return cache.putIfAbsent(key, regex) ?: regex
+  }
+
+  /**
+   * Number of lookups that returned a cached pattern
+   */
+  @JvmStatic
+  fun hits() = hits.get()
+
+  /**
+   * Number of lookups that had to compile the pattern
+   */
+  @JvmStatic
+  fun misses() = misses.get()
+
+  /**
+   * Number of patterns in the cache
+   */
+  @JvmStatic
+  fun size() = cache.size
+
+  /**
+   * Removes all the cached patterns, resets the counters and reads the maximum size again
+   */
+  @JvmStatic
+  fun clear() {
+    maxEntries = readMaxSize()
+    cache.clear()
+    hits.set(0)
+    misses.set(0)
+    logger.debug { "Cleared regex cache" }
+  }
+}
@@ -0,0 +1,257 @@
+package au.com.dius.pact.core.support.json
+
+import au.com.dius.pact.core.support.Result
+import java.io.InputStream
+import java.io.Reader
+import java.util.ArrayDeque
+
+/**
+ * Events returned by the pull parser
+ */
+enum class JsonEvent {
+  START_OBJECT,
+  END_OBJECT,
+  START_ARRAY,
+  END_ARRAY,
+  FIELD_NAME,
+  VALUE_STRING,
+  VALUE_INTEGER,
+  VALUE_DECIMAL,
+  VALUE_TRUE,
+  VALUE_FALSE,
+  VALUE_NULL
+}
+
+/**
+ * Pull style parser that returns the structure of a JSON document as a sequence of events, without building the
+ * JsonValue tree for the whole document. Parts of the document can be materialised with [readValue] or skipped with
+ * [skipValue].
+ */
+@Suppress("TooManyFunctions")
+class JsonPullParser(json: JsonSource) {
+  private enum class State { VALUE, FIRST_ARRAY_VALUE, FIRST_FIELD, FIELD, COLON, AFTER_VALUE, END }
+
+  private val lexer = JsonLexer(json)
+  private val stack = ArrayDeque<JsonEvent>()
+  private var state = State.VALUE
+  private var token: JsonToken? = null
+
+  /**
+   * The event last returned from [nextEvent], or null if no event has been returned or the end of the document has
+   * been reached
+   */
+  var currentEvent: JsonEvent? = null
+    private set
+
+  /**
+   * The number of objects and arrays the parser is currently nested in
+   */
+  val depth: Int
+    get() = stack.size
+
+  /**
+   * Returns the next event, or null when the end of the document has been reached
+   */
+  @Throws(JsonException::class)
+  fun nextEvent(): JsonEvent? {
+    currentEvent = when (state) {
+      State.VALUE -> valueEvent(nextToken(), false)
+      State.FIRST_ARRAY_VALUE -> valueEvent(nextToken(), true)
+      State.FIRST_FIELD -> fieldEvent(nextToken(), true)
+      State.FIELD -> fieldEvent(nextToken(), false)
+      State.COLON -> {
+        val colon = nextToken()
+        if (colon == null) {
+          throw endOfDocument()
+        } else if (colon !is JsonToken.Colon) {
+          throw JsonException(
+            "Invalid Json document (${lexer.documentPointer()}) - expected a colon but found unexpected characters " +
+              "'${String(colon.chars)}'")
+        }
+        valueEvent(nextToken(), false)
+      }
+      State.AFTER_VALUE -> afterValueEvent(nextToken())
+      State.END -> null
+    }
+    return currentEvent
+  }
+
+  /**
+   * Returns the text of the current field name or scalar value
+   */
+  fun text(): String {
+    return when (currentEvent) {
+      JsonEvent.FIELD_NAME, JsonEvent.VALUE_STRING, JsonEvent.VALUE_INTEGER, JsonEvent.VALUE_DECIMAL,
+      JsonEvent.VALUE_TRUE, JsonEvent.VALUE_FALSE, JsonEvent.VALUE_NULL -> String(token!!.chars)
+      else -> throw IllegalStateException("There is no text for the current event $currentEvent")
+    }
+  }
+
+  /**
+   * Materialises the value that starts at the current event. For objects and arrays, this consumes all the events
+   * up to and including the matching end event.
+   */
+  @Throws(JsonException::class)
+  fun readValue(): JsonValue {
+    return when (currentEvent) {
+      JsonEvent.VALUE_STRING -> JsonValue.StringValue(token as JsonToken.StringValue)
+      JsonEvent.VALUE_INTEGER -> JsonValue.Integer(token as JsonToken.Integer)
+      JsonEvent.VALUE_DECIMAL -> JsonValue.Decimal(token as JsonToken.Decimal)
+      JsonEvent.VALUE_TRUE -> JsonValue.True
+      JsonEvent.VALUE_FALSE -> JsonValue.False
+      JsonEvent.VALUE_NULL -> JsonValue.Null
+      JsonEvent.START_OBJECT -> {
+        val map = mutableMapOf<String, JsonValue>()
+        while (nextEvent() == JsonEvent.FIELD_NAME) {
+          val key = text()
+          nextEvent()
+          map[key] = readValue()
+        }
+        JsonValue.Object(map)
+      }
+      JsonEvent.START_ARRAY -> {
+        val list = mutableListOf<JsonValue>()
+        while (nextEvent() != JsonEvent.END_ARRAY) {
+          list.add(readValue())
+        }
+        JsonValue.Array(list)
+      }
+      else -> throw IllegalStateException("The current event $currentEvent is not the start of a value")
+    }
+  }
+
+  /**
+   * Skips over the value that starts at the current event without materialising it
+   */
+  @Throws(JsonException::class)
+  fun skipValue() {
+    if (currentEvent == JsonEvent.START_OBJECT || currentEvent == JsonEvent.START_ARRAY) {
+      val level = depth - 1
+      while (depth > level) {
+        nextEvent()
+      }
+    }
+  }
+
+  fun documentPointer() = lexer.documentPointer()
+
+  private fun nextToken(): JsonToken? {
+    var next: JsonToken?
+    do {
+      next = when (val result = lexer.nextToken()) {
+        is Result.Err -> throw result.error
+        is Result.Ok -> result.value
+      }
+    } while (next is JsonToken.Whitespace)
+    token = next
+    return next
+  }
+
+  private fun valueEvent(next: JsonToken?, allowEnd: Boolean): JsonEvent {
+    state = State.AFTER_VALUE
+    return when (next) {
+      is JsonToken.StringValue -> JsonEvent.VALUE_STRING
+      is JsonToken.Integer -> JsonEvent.VALUE_INTEGER
+      is JsonToken.Decimal -> JsonEvent.VALUE_DECIMAL
+      is JsonToken.True -> JsonEvent.VALUE_TRUE
+      is JsonToken.False -> JsonEvent.VALUE_FALSE
+      is JsonToken.Null -> JsonEvent.VALUE_NULL
+      is JsonToken.ArrayStart -> {
+        stack.push(JsonEvent.START_ARRAY)
+        state = State.FIRST_ARRAY_VALUE
+        JsonEvent.START_ARRAY
+      }
+      is JsonToken.ObjectStart -> {
+        stack.push(JsonEvent.START_OBJECT)
+        state = State.FIRST_FIELD
+        JsonEvent.START_OBJECT
+      }
+      is JsonToken.ArrayEnd -> if (allowEnd) {
+        stack.pop()
+        JsonEvent.END_ARRAY
+      } else {
+        throw unexpectedCharacters(next)
+      }
+      null -> if (stack.isEmpty()) {
+        throw JsonException(
+          "Invalid Json document (${lexer.documentPointer()}) - found only whitespace characters")
+      } else {
+        throw endOfDocument()
+      }
+      else -> throw unexpectedCharacters(next)
+    }
+  }
+
+  private fun fieldEvent(next: JsonToken?, allowEnd: Boolean): JsonEvent {
+    return when (next) {
+      is JsonToken.StringValue -> {
+        state = State.COLON
+        JsonEvent.FIELD_NAME
+      }
+      is JsonToken.ObjectEnd -> if (allowEnd) {
+        stack.pop()
+        state = State.AFTER_VALUE
+        JsonEvent.END_OBJECT
+      } else {
+        throw expectedString(next)
+      }
+      null -> throw endOfDocument()
+      else -> throw expectedString(next)
+    }
+  }
+
+  private fun afterValueEvent(next: JsonToken?): JsonEvent? {
+    return when (stack.peek()) {
+      null -> if (next == null) {
+        state = State.END
+        null
+      } else {
+        throw unexpectedCharacters(next)
+      }
+      JsonEvent.START_OBJECT -> when (next) {
+        is JsonToken.Comma -> fieldEvent(nextToken(), false)
+        is JsonToken.ObjectEnd -> {
+          stack.pop()
+          JsonEvent.END_OBJECT
+        }
+        null -> throw endOfDocument()
+        else -> throw JsonException(
+          "Invalid Json document (${lexer.documentPointer()}) - Expecting ',' or '}' while parsing object, " +
+            "found '${String(next.chars)}'")
+      }
+      else -> when (next) {
+        is JsonToken.Comma -> valueEvent(nextToken(), false)
+        is JsonToken.ArrayEnd -> {
+          stack.pop()
+          JsonEvent.END_ARRAY
+        }
+        null -> throw endOfDocument()
+        else -> throw unexpectedCharacters(next)
+      }
+    }
+  }
+
+  private fun endOfDocument(): JsonException {
+    val parsing = if (stack.peek() == JsonEvent.START_ARRAY) "array" else "object"
+    return JsonException(
+      "Invalid Json document (${lexer.documentPointer()}) - found end of document while parsing $parsing")
+  }
+
+  private fun unexpectedCharacters(next: JsonToken) = JsonException(
+    "Invalid Json document (${lexer.documentPointer()}) - found unexpected characters '${String(next.chars)}'")
+
+  private fun expectedString(next: JsonToken) = JsonException(
+    "Invalid Json document (${lexer.documentPointer()}) - expected a string but found unexpected characters " +
+      "'${String(next.chars)}'")
+
+  companion object {
+    @JvmStatic
+    fun fromString(json: String) = JsonPullParser(StringSource(json.toCharArray()))
+
+    @JvmStatic
+    fun fromStream(json: InputStream) = JsonPullParser(InputStreamSource(json))
+
+    @JvmStatic
+    fun fromReader(reader: Reader) = JsonPullParser(ReaderSource(reader))
+  }
+}
@@ -126,10 +126,7 @@ sealed class JsonValue {
       is StringValue -> this.value.toString()
       is True -> "true"
       is False -> "false"
-      is Array -> "[${this.values.joinToString(",") { it.serialise() }}]"
-      is Object -> "{${this.entries.entries.sortedBy { it.key }.joinToString(",") { 
-        "\"${it.key}\":" + it.value.serialise() 
-      }}}"
+      is Array, is Object -> serialise()
     }
   }
 
@@ -162,15 +159,19 @@ sealed class JsonValue {
       is Null -> "null"
       is Decimal -> String(this.value.chars)
       is Integer -> String(this.value.chars)
-      is StringValue -> "\"${Json.escape(this.asString()!!)}\""
       is True -> "true"
       is False -> "false"
-      is Array -> "[${this.values.joinToString(",") { it.serialise() }}]"
-      is Object -> "{${this.entries.entries.sortedBy { it.key }
-        .joinToString(",") { "\"${it.key}\":" + it.value.serialise() }}}"
+      else -> StringBuilder().also { JsonWriter(it).write(this) }.toString()
     }
   }
 
+  /**
+   * Writes the compact form of this value to the Appendable
+   */
+  fun serialiseTo(out: Appendable) {
+    JsonWriter(out).write(this)
+  }
+
   fun add(value: JsonValue) {
     if (this is Array) {
       this.values.add(value)
@@ -233,27 +234,14 @@ sealed class JsonValue {
   }
 
   fun prettyPrint(indent: Int = 0, skipIndent: Boolean = false): String {
-    val indentStr = "".padStart(indent)
-    val indentStr2 = "".padStart(indent + 2)
-    return if (skipIndent) {
-      when (this) {
-        is Array -> "[\n" + this.values.joinToString(",\n") {
-          it.prettyPrint(indent + 2) } + "\n$indentStr]"
-        is Object -> "{\n" + this.entries.entries.sortedBy { it.key }.joinToString(",\n") {
-          "$indentStr2\"${it.key}\": ${it.value.prettyPrint(indent + 2, true)}"
-          } + "\n$indentStr}"
-        else -> this.serialise()
-      }
-    } else {
-      when (this) {
-        is Array -> "$indentStr$indentStr[\n" + this.values.joinToString(",\n") {
-          it.prettyPrint(indent + 2) } + "\n$indentStr]"
-        is Object -> "$indentStr{\n" + this.entries.entries.sortedBy { it.key }.joinToString(",\n") {
-          "$indentStr2\"${it.key}\": ${it.value.prettyPrint(indent + 2, true)}"
-          } + "\n$indentStr}"
-        else -> indentStr + this.serialise()
-      }
-    }
+    return StringBuilder().also { JsonWriter(it).writePretty(this, indent, skipIndent) }.toString()
+  }
+
+  /**
+   * Writes the pretty printed form of this value to the Appendable
+   */
+  fun prettyPrintTo(out: Appendable) {
+    JsonWriter(out).writePretty(this)
   }
 
   val name: String
@@ -0,0 +1,174 @@
+package au.com.dius.pact.core.support.json
+
+import java.io.Writer
+
+/**
+ * Writes JSON values directly to an Appendable in a single pass, without building intermediate strings. The output is
+ * the same as [JsonValue.serialise] and [JsonValue.prettyPrint]: the keys of objects are written in sorted order, and
+ * strings are escaped the same way as [au.com.dius.pact.core.support.Json.escape]. When writing to a Writer,
+ * characters are collected in a block buffer that is written out when it is full and at the end of each value.
+ */
+class JsonWriter(private val out: Appendable) {
+  private val buffer = if (out is Writer) CharArray(BUFFER_SIZE) else null
+  private var position = 0
+
+  /**
+   * Writes the value in compact form
+   */
+  fun write(value: JsonValue): JsonWriter {
+    writeValue(value)
+    flush()
+    return this
+  }
+
+  /**
+   * Writes the value pretty printed, with nested values indented by two spaces
+   */
+  fun writePretty(value: JsonValue, indent: Int = 0, skipIndent: Boolean = false): JsonWriter {
+    writePrettyValue(value, indent, skipIndent)
+    flush()
+    return this
+  }
+
+  private fun writeValue(value: JsonValue) {
+    when (value) {
+      is JsonValue.Null -> put("null")
+      is JsonValue.Decimal -> appendChars(value.value.chars)
+      is JsonValue.Integer -> appendChars(value.value.chars)
+      is JsonValue.StringValue -> writeString(value.value.chars)
+      is JsonValue.True -> put("true")
+      is JsonValue.False -> put("false")
+      is JsonValue.Array -> {
+        put('[')
+        value.values.forEachIndexed { i, item ->
+          if (i > 0) put(',')
+          writeValue(item)
+        }
+        put(']')
+      }
+      is JsonValue.Object -> {
+        put('{')
+        sortedKeys(value).forEachIndexed { i, key ->
+          if (i > 0) put(',')
+          put('"')
+          put(key)
+          put("\":")
+          writeValue(value.entries[key]!!)
+        }
+        put('}')
+      }
+    }
+  }
+
+  private fun writePrettyValue(value: JsonValue, indent: Int, skipIndent: Boolean) {
+    when (value) {
+      is JsonValue.Array -> {
+        if (!skipIndent) {
+          // Arrays that are not the value of a field have always been indented twice
+          appendIndent(indent * 2)
+        }
+        put("[\n")
+        value.values.forEachIndexed { i, item ->
+          if (i > 0) put(",\n")
+          writePrettyValue(item, indent + 2, false)
+        }
+        put('\n')
+        appendIndent(indent)
+        put(']')
+      }
+      is JsonValue.Object -> {
+        if (!skipIndent) appendIndent(indent)
+        put("{\n")
+        sortedKeys(value).forEachIndexed { i, key ->
+          if (i > 0) put(",\n")
+          appendIndent(indent + 2)
+          put('"')
+          put(key)
+          put("\": ")
+          writePrettyValue(value.entries[key]!!, indent + 2, true)
+        }
+        put('\n')
+        appendIndent(indent)
+        put('}')
+      }
+      else -> {
+        if (!skipIndent) appendIndent(indent)
+        writeValue(value)
+      }
+    }
+  }
+
+  private fun writeString(chars: CharArray) {
+    put('"')
+    for (ch in chars) {
+      when {
+        ch == '"' -> put("\\\"")
+        ch == '\\' -> put("\\\\")
+        ch == '\b' -> put("\\b")
+        ch == '\n' -> put("\\n")
+        ch == '\t' -> put("\\t")
+        ch == '\u000C' -> put("\\f")
+        ch == '\r' -> put("\\r")
+        ch.code < FIRST_PRINTABLE || ch.code > LAST_ASCII -> {
+          put("\\u")
+          var shift = 12
+          while (shift >= 0) {
+            put(HEX_DIGITS[(ch.code shr shift) and 0xF])
+            shift -= 4
+          }
+        }
+        else -> put(ch)
+      }
+    }
+    put('"')
+  }
+
+  private fun appendChars(chars: CharArray) {
+    for (ch in chars) {
+      put(ch)
+    }
+  }
+
+  private fun put(ch: Char) {
+    if (buffer == null) {
+      out.append(ch)
+    } else {
+      if (position == buffer.size) {
+        flush()
+      }
+      buffer[position++] = ch
+    }
+  }
+
+  private fun put(str: String) {
+    for (ch in str) {
+      put(ch)
+    }
+  }
+
+  private fun flush() {
+    if (buffer != null && position > 0) {
+      (out as Writer).write(buffer, 0, position)
+      position = 0
+    }
+  }
+
+  private fun appendIndent(indent: Int) {
+    for (i in 0 until indent) {
+      put(' ')
+    }
+  }
+
+  private fun sortedKeys(value: JsonValue.Object): Array<String> {
+    val keys = value.entries.keys.toTypedArray()
+    keys.sort()
+    return keys
+  }
+
+  companion object {
+    private const val FIRST_PRINTABLE = 32
+    private const val LAST_ASCII = 0x7f
+    private const val HEX_DIGITS = "0123456789ABCDEF"
+    private const val BUFFER_SIZE = 8192
+  }
+}
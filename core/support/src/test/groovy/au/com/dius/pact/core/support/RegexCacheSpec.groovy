@@ -0,0 +1,68 @@
+package au.com.dius.pact.core.support
+
+import kotlin.text.RegexOption
+import spock.lang.Specification
+
+import java.util.regex.PatternSyntaxException
+
+class RegexCacheSpec extends Specification {
+
+  def setup() {
+    RegexCache.clear()
+  }
+
+  def cleanup() {
+    System.clearProperty(RegexCache.MAX_SIZE)
+    RegexCache.clear()
+  }
+
+  def 'returns the same compiled regex for the same pattern and options'() {
+    when:
+    def first = RegexCache.regex('\\d+')
+    def second = RegexCache.regex('\\d+')
+    def withOptions = RegexCache.regex('\\d+', [RegexOption.MULTILINE] as Set)
+
+    then:
+    first.is(second)
+    !first.is(withOptions)
+    RegexCache.hits() == 1
+    RegexCache.misses() == 2
+  }
+
+  def 'does not cache invalid patterns'() {
+    when:
+    RegexCache.regex('[a-')
+
+    then:
+    thrown(PatternSyntaxException)
+    RegexCache.size() == 0
+  }
+
+  def 'the number of cached patterns is bounded'() {
+    given:
+    System.setProperty(RegexCache.MAX_SIZE, '10')
+    RegexCache.clear()
+
+    when:
+    (1..100).each { RegexCache.regex("a{$it}") }
+
+    then:
+    RegexCache.size() <= 10
+    RegexCache.regex('a{100}').matches('a' * 100)
+  }
+
+  def 'the maximum size is only read again when the cache is cleared'() {
+    given:
+    System.setProperty(RegexCache.MAX_SIZE, '10')
+    RegexCache.clear()
+
+    when:
+    System.setProperty(RegexCache.MAX_SIZE, '20')
+    def beforeClear = RegexCache.maxSize()
+    RegexCache.clear()
+
+    then:
+    beforeClear == 10
+    RegexCache.maxSize() == 20
+  }
+}
@@ -67,4 +67,44 @@ class JsonLexerSpec extends Specification {
     'string with invalid escaped hex chars' | '"12\\uabxex"'
   }
 
+  @Unroll
+  def 'reader source returns the same tokens across buffer boundaries - #json'() {
+    given:
+    def expected = tokens(new JsonLexer(new StringSource(json.chars)))
+    def lexer = new JsonLexer(new ReaderSource(new StringReader(json), 3))
+
+    expect:
+    tokens(lexer) == expected
+
+    where:
+
+    json << [
+      '{"a": [1, 2.5E-3, true, false, null], "b": "\\u00e9\\n"}',
+      '  [ "a longer string value spanning buffers" , -1234 ]  '
+    ]
+  }
+
+  def 'reader source tracks the document pointer'() {
+    given:
+    def source = new ReaderSource(new StringReader('ab\ncd'), 2)
+
+    when:
+    source.advance(4)
+
+    then:
+    source.documentPointer() == '2:2'
+    source.nextChar() == ('d' as char) as int
+    source.nextChar() == JsonSource.EOF
+    source.peekNextChar() == JsonSource.EOF
+  }
+
+  private static List tokens(JsonLexer lexer) {
+    def result = []
+    def token = lexer.nextToken()
+    while (token.value != null) {
+      result << token.value
+      token = lexer.nextToken()
+    }
+    result
+  }
 }
@@ -0,0 +1,108 @@
+package au.com.dius.pact.core.support.json
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class JsonPullParserSpec extends Specification {
+
+  def 'returns the events for a document'() {
+    given:
+    def parser = JsonPullParser.fromString('{"a": [1, 2.5, "x"], "b": {"c": true, "d": false}, "e": null, "f": []}')
+
+    expect:
+    events(parser) == [
+      'START_OBJECT',
+      'FIELD_NAME:a', 'START_ARRAY', 'VALUE_INTEGER:1', 'VALUE_DECIMAL:2.5', 'VALUE_STRING:x', 'END_ARRAY',
+      'FIELD_NAME:b', 'START_OBJECT', 'FIELD_NAME:c', 'VALUE_TRUE:true', 'FIELD_NAME:d', 'VALUE_FALSE:false',
+      'END_OBJECT',
+      'FIELD_NAME:e', 'VALUE_NULL:null',
+      'FIELD_NAME:f', 'START_ARRAY', 'END_ARRAY',
+      'END_OBJECT'
+    ]
+  }
+
+  @Unroll
+  def 'read value returns the same value as the parser - #json'() {
+    given:
+    def parser = JsonPullParser.fromString(json)
+
+    when:
+    parser.nextEvent()
+    def value = parser.readValue()
+
+    then:
+    value == JsonParser.parseString(json)
+    parser.nextEvent() == null
+
+    where:
+
+    json << [
+      '100',
+      '"a string"',
+      'true',
+      '[]',
+      '{}',
+      '[1, [2, [3]], {"a": {"b": [null]}}]',
+      '{"a": 1, "b": [true, false], "c": {"d": "e"}}'
+    ]
+  }
+
+  def 'can skip over values'() {
+    given:
+    def parser = JsonPullParser.fromReader(new StringReader('{"a": [1, {"b": [2, 3]}], "c": 4}'))
+
+    when:
+    parser.nextEvent()
+    parser.nextEvent()
+    parser.nextEvent()
+    parser.skipValue()
+
+    then:
+    parser.depth == 1
+    parser.nextEvent() == JsonEvent.FIELD_NAME
+    parser.text() == 'c'
+    parser.nextEvent() == JsonEvent.VALUE_INTEGER
+    parser.text() == '4'
+    parser.nextEvent() == JsonEvent.END_OBJECT
+    parser.nextEvent() == null
+  }
+
+  @Unroll
+  def 'invalid document - #description'() {
+    given:
+    def parser = JsonPullParser.fromString(json)
+
+    when:
+    events(parser)
+
+    then:
+    def ex = thrown(JsonException)
+    ex.message == message
+
+    where:
+
+    description                    | json           | message
+    'whitespace only'              | '  '           | 'Invalid Json document (1:3) - found only whitespace characters'
+    'unterminated object'          | '{"a": 1'      | 'Invalid Json document (1:8) - found end of document while parsing object'
+    'unterminated array'           | '[1, 2'        | 'Invalid Json document (1:6) - found end of document while parsing array'
+    'missing colon'                | '{"a" 1}'      | "Invalid Json document (1:7) - expected a colon but found unexpected characters '1'"
+    'non-string key'               | '{1: 2}'       | "Invalid Json document (1:3) - expected a string but found unexpected characters '1'"
+    'missing comma'                | '{"a": 1 "b"}' | "Invalid Json document (1:12) - Expecting ',' or '}' while parsing object, found 'b'"
+    'trailing characters'          | '[1] 2'        | "Invalid Json document (1:6) - found unexpected characters '2'"
+    'trailing comma in array'      | '[1,]'         | "Invalid Json document (1:5) - found unexpected characters ']'"
+  }
+
+  private static List events(JsonPullParser parser) {
+    def result = []
+    def event = parser.nextEvent()
+    while (event != null) {
+      if (event in [JsonEvent.START_OBJECT, JsonEvent.END_OBJECT, JsonEvent.START_ARRAY, JsonEvent.END_ARRAY]) {
+        result << event.name()
+      } else {
+        result << "${event.name()}:${parser.text()}".toString()
+      }
+      event = parser.nextEvent()
+    }
+    result
+  }
+}
@@ -0,0 +1,80 @@
+package au.com.dius.pact.core.support.json
+
+import au.com.dius.pact.core.support.Json
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class JsonWriterSpec extends Specification {
+
+  @Unroll
+  def 'writes compact JSON - #json'() {
+    given:
+    def value = JsonParser.parseString(json)
+    def sb = new StringBuilder()
+
+    when:
+    new JsonWriter(sb).write(value)
+
+    then:
+    sb.toString() == expected
+    value.serialise() == expected
+
+    where:
+
+    json                                        | expected
+    'null'                                      | 'null'
+    '100'                                       | '100'
+    '-1.5e10'                                   | '-1.5e10'
+    'true'                                      | 'true'
+    '"a \\"quoted\\" \\\\ string\\n\\t"'        | '"a \\"quoted\\" \\\\ string\\n\\t"'
+    '"\\u0001 \\u00e4 \\u20ac \\ud83d\\ude00"'  | '"\\u0001 \\u00E4 \\u20AC \\uD83D\\uDE00"'
+    '[1, [2, {}], []]'                          | '[1,[2,{}],[]]'
+    '{"b": 1, "a": {"d": [true], "c": null}}'   | '{"a":{"c":null,"d":[true]},"b":1}'
+  }
+
+  def 'escapes strings the same way as Json.escape'() {
+    given:
+    def str = (0..0x3ff).collect { it as char }.join('') + '😀'
+
+    expect:
+    new JsonValue.StringValue(str).serialise() == '"' + Json.INSTANCE.escape(str) + '"'
+  }
+
+  def 'pretty prints JSON'() {
+    given:
+    def value = JsonParser.parseString('{"b": [1, {"c": "d"}, [2]], "a": {}, "e": "f"}')
+
+    expect:
+    value.prettyPrint(0, false) == '''{
+    |  "a": {
+    |
+    |  },
+    |  "b": [
+    |    1,
+    |    {
+    |      "c": "d"
+    |    },
+    |        [
+    |      2
+    |    ]
+    |  ],
+    |  "e": "f"
+    |}'''.stripMargin()
+  }
+
+  def 'writes values larger than the buffer to a Writer'() {
+    given:
+    def value = new JsonValue.Array((0..<5000).collect { new JsonValue.StringValue("value $it") })
+    def writer = new StringWriter()
+
+    when:
+    value.serialiseTo(writer)
+    def pretty = new StringWriter()
+    value.prettyPrintTo(pretty)
+
+    then:
+    writer.toString() == value.serialise()
+    pretty.toString() == value.prettyPrint(0, false)
+    JsonParser.parseString(writer.toString()) == value
+  }
+}
@@ -21,28 +21,26 @@ object Complete {
     OptionalBody.body(("{\"error\": \"" + error + "\"}").getBytes)
   }
 
-  def apply(request: Request, oldState: ServerState): Result = {
-    def clientError = Result(new Response(400), oldState)
-    def pactWritten(response: Response, port: String) = {
-      val server = oldState(port)
-      val newState = oldState.filter(p => p._2 != server)
-      Result(response, newState)
-    }
+  /**
+   * Removes the mock server from the state before stopping it and writing the pact, so the state is not held up while
+   * the pact is written, and a mock server completed by two requests at the same time is only completed once
+   */
+  def apply(request: Request, store: ServerStateStore): Response = {
+    def clientError = new Response(400)
 
     val result = for {
       port <- getPort(JsonUtils.parseJsonString(request.getBody.valueAsString()))
-      mockProvider <- oldState.get(port)
-      sessionResults = mockProvider.session.remainingResults
+      mockProvider <- store.state.get(port)
       pact <- mockProvider.pact
+      if store.remove(mockProvider)
     } yield {
+      val sessionResults = mockProvider.session.remainingResults
       mockProvider.stop()
+      PortAllocator.release(mockProvider.config.getPort)
 
       writeIfMatching(pact, sessionResults, mockProvider.config.getPactVersion) match {
-        case PactVerified => pactWritten(new Response(200, ResponseUtils.CrossSiteHeaders.asJava),
-          mockProvider.config.getPort.toString)
-        case error => pactWritten(new Response(400,
-          Map("Content-Type" -> List("application/json").asJava).asJava, toJson(error)),
-          mockProvider.config.getPort.toString)
+        case PactVerified => new Response(200, ResponseUtils.CrossSiteHeaders.asJava)
+        case error => new Response(400, Map("Content-Type" -> List("application/json").asJava).asJava, toJson(error))
       }
     }
 
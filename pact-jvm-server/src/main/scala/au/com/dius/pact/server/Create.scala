@@ -1,32 +1,29 @@
 package au.com.dius.pact.server
 
-import java.io.IOException
-import java.net.ServerSocket
+import java.net.BindException
 
 import au.com.dius.pact.consumer.model.{MockHttpsKeystoreProviderConfig, MockProviderConfig}
 import au.com.dius.pact.core.model._
 import com.typesafe.scalalogging.StrictLogging
-import org.apache.commons.lang3.RandomUtils
 
 import scala.collection.JavaConverters._
 
 object Create extends StrictLogging {
 
+  private val MaxBindAttempts = 20
+
   def create(state: String, path: List[String], requestBody: String, oldState: ServerState, config: Config): Result = {
     val pact = DefaultPactReader.INSTANCE.loadPact(requestBody).asInstanceOf[RequestResponsePact]
 
-    val mockConfig : MockProviderConfig = {
-      if(!config.keystorePath.isEmpty) {
-        MockHttpsKeystoreProviderConfig
-          .httpsKeystoreConfig(config.host, config.sslPort, config.keystorePath, config.keystorePassword,
-            PactSpecVersion.fromInt(config.pactVersion))
-      }
-      else {
-        new MockProviderConfig(config.host, randomPort(config.portLowerBound, config.portUpperBound),
-          PactSpecVersion.fromInt(config.pactVersion))
-      }
+    val server = if (!config.keystorePath.isEmpty) {
+      val server = DefaultMockProvider.apply(MockHttpsKeystoreProviderConfig
+        .httpsKeystoreConfig(config.host, config.sslPort, config.keystorePath, config.keystorePassword,
+          PactSpecVersion.fromInt(config.pactVersion)))
+      server.start(pact)
+      server
+    } else {
+      startOnFreePort(pact, config)
     }
-    val server = DefaultMockProvider.apply(mockConfig)
 
     val port = server.config.getPort
     val portEntry = port.toString -> server
@@ -39,8 +36,6 @@ object Create extends StrictLogging {
 
     val body = OptionalBody.body(("{\"port\": " + port + "}").getBytes)
 
-    server.start(pact)
-
     Result(new Response(201, (ResponseUtils.CrossSiteHeaders ++ Map("Content-Type" -> List("application/json").asJava)).asJava, body), newState)
   }
 
@@ -65,39 +60,40 @@ object Create extends StrictLogging {
     result getOrElse clientError
   }
 
-  def randomPort(lower: Int, upper: Int): Int = {
-    var port: Integer = null
-    var count = 0
-    while (port == null && count < 20) {
-      val randomPort = RandomUtils.nextInt(lower, upper)
-      if (portAvailable(randomPort)) {
-        port = randomPort
+  /**
+   * Starts a mock server on the next free port in the configured range. The server binds to the port directly, and if
+   * the port has been taken by another process the next port is tried.
+   */
+  def startOnFreePort(pact: RequestResponsePact, config: Config): StatefulMockProvider = {
+    var server: Option[StatefulMockProvider] = None
+    var attempts = 0
+    while (server.isEmpty && attempts < MaxBindAttempts) {
+      val port = PortAllocator.reserve(config.portLowerBound, config.portUpperBound).getOrElse(
+        throw new IllegalStateException(
+          s"There are no free ports between ${config.portLowerBound} and ${config.portUpperBound}"))
+      val mockProvider = DefaultMockProvider.apply(new MockProviderConfig(config.host, port,
+        PactSpecVersion.fromInt(config.pactVersion)))
+      try {
+        mockProvider.start(pact)
+        server = Some(mockProvider)
+      } catch {
+        case e: BindException =>
+          logger.debug(s"Could not bind to port $port, trying the next port", e)
+          PortAllocator.release(port)
+          stopQuietly(mockProvider)
       }
-      count += 1
+      attempts += 1
     }
 
-    if (port == null) {
-      port = 0
-    }
-
-    port
+    server.getOrElse(throw new IllegalStateException(
+      s"Could not bind a mock server to a port between ${config.portLowerBound} and ${config.portUpperBound}"))
   }
 
-  private def portAvailable(p: Int): Boolean = {
-    var socket: ServerSocket = null
+  private def stopQuietly(mockProvider: StatefulMockProvider): Unit = {
     try {
-      socket = new ServerSocket(p)
-      true
+      mockProvider.stop()
     } catch {
-      case _: IOException => false
-    } finally {
-      if (socket != null) {
-        try {
-          socket.close()
-        } catch {
-          case _: IOException => {}
-        }
-      }
+      case e: Exception => logger.debug("Failed to stop the mock server", e)
     }
   }
 }
@@ -30,10 +30,9 @@ object DefaultMockProvider {
     }
 }
 
-// TODO: eliminate horrid state mutation and synchronisation.  Reactive stuff to the rescue?
 abstract class StatefulMockProvider extends MockProvider with StrictLogging {
-  private var sessionVar = PactSession.empty
-  private var pactVar: Option[PactModel] = None
+  @volatile private var sessionVar = PactSession.empty
+  @volatile private var pactVar: Option[PactModel] = None
 
   private def waitForRequestsToFinish() = Thread.sleep(100)
 
@@ -69,11 +68,11 @@ abstract class StatefulMockProvider extends MockProvider with StrictLogging {
     }
   }
 
-  final def handleRequest(req: Request): Response = synchronized {
+  // Requests are handled concurrently, the session records the results without locking
+  final def handleRequest(req: Request): Response = {
     logger.debug("Received request: " + req)
-    val (response, newSession) = session.receiveRequest(req)
+    val response = session.receiveRequest(req)
     logger.debug("Generating response: " + response)
-    sessionVar = newSession
     response
   }
 }
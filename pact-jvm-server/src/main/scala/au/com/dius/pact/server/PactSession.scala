@@ -1,5 +1,8 @@
 package au.com.dius.pact.server
 
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.atomic.AtomicLong
+
 import au.com.dius.pact.core.matchers.{FullRequestMatch, PartialRequestMatch, RequestMatching, RequestMismatch}
 import au.com.dius.pact.core.model.{Interaction, OptionalBody, Request, RequestResponseInteraction, Response, Pact => PactModel}
 import org.apache.commons.lang3.StringEscapeUtils
@@ -23,14 +26,25 @@ case class PactSessionResults(
 }
 
 object PactSession {
-  val empty = PactSession(None, PactSessionResults.empty)
+  def empty = new PactSession(None)
 
-  def forPact(pact: PactModel) = PactSession(Some(pact), PactSessionResults.empty)
+  def forPact(pact: PactModel) = new PactSession(Some(pact))
 }
 
-case class PactSession(expected: Option[PactModel], results: PactSessionResults) {
+/**
+ * Records the requests received by a mock provider. Requests can be received concurrently: the matcher is built once
+ * for the pact, and each result is tagged with the order it was received in and appended to a lock-free queue. The
+ * results are sorted by that order when they are read, so the report does not depend on how the queues interleave.
+ */
+class PactSession(val expected: Option[PactModel]) {
   import scala.collection.JavaConverters._
 
+  private val matcher = expected.map(new RequestMatching(_))
+  private val sequence = new AtomicLong()
+  private val matched = new ConcurrentLinkedQueue[(Long, Interaction)]()
+  private val almostMatched = new ConcurrentLinkedQueue[(Long, PartialRequestMatch)]()
+  private val unexpected = new ConcurrentLinkedQueue[(Long, Request)]()
+
   val CrossSiteHeaders = Map[String, java.util.List[String]]("Access-Control-Allow-Origin" -> List("*").asJava)
 
   def invalidRequest(req: Request) = {
@@ -40,32 +54,34 @@ case class PactSession(expected: Option[PactModel], results: PactSessionResults)
     new Response(500, headers.asJava, OptionalBody.body(body.getBytes))
   }
 
-  def receiveRequest(req: Request): (Response, PactSession) = {
-    val invalidResponse = invalidRequest(req)
-
-    val matcher = new RequestMatching(expected.get)
-    matcher.matchInteraction(req) match {
-      case frm: FullRequestMatch =>
-        (frm.getInteraction.asInstanceOf[RequestResponseInteraction].getResponse, recordMatched(frm.getInteraction))
+  def receiveRequest(req: Request): Response = {
+    val order = sequence.getAndIncrement()
+    matcher.map(_.matchInteraction(req)) match {
+      case Some(frm: FullRequestMatch) =>
+        matched.add((order, frm.getInteraction))
+        frm.getInteraction.asInstanceOf[RequestResponseInteraction].getResponse
 
-      case p: PartialRequestMatch =>
-        (invalidResponse, recordAlmostMatched(p))
+      case Some(p: PartialRequestMatch) =>
+        almostMatched.add((order, p))
+        invalidRequest(req)
 
-      case _: RequestMismatch =>
-        (invalidResponse, recordUnexpected(req))
+      case Some(_: RequestMismatch) | None =>
+        unexpected.add((order, req))
+        invalidRequest(req)
     }
   }
 
-  def recordUnexpected(req: Request): PactSession =
-    copy(results = results addUnexpected req)
+  /**
+   * Snapshot of the results recorded so far, in the order the requests were received
+   */
+  def results: PactSessionResults =
+    PactSessionResults(sorted(matched), sorted(almostMatched), Nil, sorted(unexpected))
 
-  def recordAlmostMatched(partial: PartialRequestMatch): PactSession =
-    copy(results = results addAlmostMatched partial)
-
-  def recordMatched(interaction: Interaction): PactSession =
-    copy(results = results addMatched interaction)
-
-  def withTheRestMissing: PactSession = PactSession(None, remainingResults)
+  def remainingResults: PactSessionResults = {
+    val current = results
+    current.addMissing(expected.map(_.getInteractions.asScala.toList diff current.matched).getOrElse(Nil))
+  }
 
-  def remainingResults: PactSessionResults = results.addMissing(expected.get.getInteractions.asScala diff results.matched)
+  private def sorted[T](queue: ConcurrentLinkedQueue[(Long, T)]): List[T] =
+    queue.asScala.toList.sortBy(_._1).map(_._2)
 }
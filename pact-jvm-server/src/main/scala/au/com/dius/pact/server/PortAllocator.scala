@@ -0,0 +1,37 @@
+package au.com.dius.pact.server
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+
+import org.apache.commons.lang3.RandomUtils
+
+/**
+ * Hands out the ports for the mock servers from a range. Ports are not probed by opening a socket: the mock server
+ * binds to the port directly, and if the bind fails the next port in the range is tried. Ports handed out to running
+ * mock servers are kept until they are released, so concurrent creates never get the same port.
+ */
+object PortAllocator {
+  private val inUse = ConcurrentHashMap.newKeySet[Int]()
+  private val cursor = new AtomicInteger(RandomUtils.nextInt())
+
+  /**
+   * Reserves the next free port in the range [lower, upper)
+   */
+  def reserve(lower: Int, upper: Int): Option[Int] = {
+    val size = upper - lower
+    var attempts = 0
+    var port: Option[Int] = None
+    while (port.isEmpty && attempts < size) {
+      val candidate = lower + Math.floorMod(cursor.getAndIncrement(), size)
+      if (inUse.add(candidate)) {
+        port = Some(candidate)
+      }
+      attempts += 1
+    }
+    port
+  }
+
+  def release(port: Int): Unit = inUse.remove(port)
+
+  def isReserved(port: Int): Boolean = inUse.contains(port)
+}
@@ -6,11 +6,6 @@ import unfiltered.netty.ServerErrorResponse
 import unfiltered.netty.cycle
 import unfiltered.request.HttpRequest
 import unfiltered.response.ResponseFunction
-import scala.collection.immutable.Map
-
-class ServerStateStore {
-  var state: ServerState = Map()
-}
 
 @Sharable
 case class RequestHandler(store: ServerStateStore, config: Config) extends cycle.Plan
@@ -20,9 +15,8 @@ case class RequestHandler(store: ServerStateStore, config: Config) extends cycle
 
     def handle(request: HttpRequest[ReceivedMessage]): ResponseFunction[NHttpResponse] = {
       val pactRequest = Conversions.unfilteredRequestToPactRequest(request)
-      val result = RequestRouter.dispatch(pactRequest, store.state, config)
-      store.state = result.newState
-      Conversions.pactToUnfilteredResponse(result.response)
+      val response = RequestRouter.dispatch(pactRequest, store, config)
+      Conversions.pactToUnfilteredResponse(response)
     }
     def intent = PartialFunction[HttpRequest[ReceivedMessage], ResponseFunction[NHttpResponse]](handle)
 }
@@ -7,15 +7,12 @@ import au.com.dius.pact.core.model.{Request, Response, _}
 import scala.collection.JavaConverters._
 
 object RequestRouter {
-  def matchPath(request: Request, oldState: ServerState): Option[StatefulMockProvider] =
-    (for {
-      k <- oldState.keys if request.getPath.startsWith(k)
-      pact <- oldState.get(k)
-    } yield pact).headOption
+  def matchPath(request: Request, routes: PathRoutes): Option[StatefulMockProvider] =
+    routes.matchPath(request.getPath)
 
-  def handlePactRequest(request: Request, oldState: ServerState): Option[Response] =
+  def handlePactRequest(request: Request, routes: PathRoutes): Option[Response] =
     for {
-      pact <- matchPath(request, oldState)
+      pact <- matchPath(request, routes)
     } yield pact.handleRequest(request)
 
   def state404(request: Request, oldState: ServerState): String =
@@ -23,19 +20,28 @@ object RequestRouter {
 
   val EMPTY_MAP: util.Map[String, util.List[String]] = Map[String, util.List[String]]().asJava
 
-  def pactDispatch(request: Request, oldState: ServerState): Response =
-    handlePactRequest(request, oldState) getOrElse new Response(404, EMPTY_MAP,
-      OptionalBody.body(state404(request, oldState).getBytes))
+  def pactDispatch(request: Request, store: ServerStateStore): Response =
+    handlePactRequest(request, store.routes) getOrElse new Response(404, EMPTY_MAP,
+      OptionalBody.body(state404(request, store.state).getBytes))
+
+  /**
+   * Starts the mock server before adding it to the state, so other changes to the state do not wait for it to start
+   */
+  def create(request: Request, store: ServerStateStore, config: Config): Response = {
+    val result = Create(request, Map[String, StatefulMockProvider](), config)
+    store.update(_ ++ result.newState)
+    result.response
+  }
 
-  def dispatch(request: Request, oldState: ServerState, config: Config): Result = {
+  def dispatch(request: Request, store: ServerStateStore, config: Config): Response = {
     val urlPattern ="/(\\w*)\\?{0,1}.*".r
     val urlPattern(action) = request.getPath
     action match {
-      case "create" => Create(request, oldState, config)
-      case "complete" => Complete(request, oldState)
-      case "publish" => Publish(request, oldState, config)
-      case "" => ListServers(oldState)
-      case _ => Result(pactDispatch(request, oldState), oldState)
+      case "create" => create(request, store, config)
+      case "complete" => Complete(request, store)
+      case "publish" => Publish(request, store.state, config).response
+      case "" => ListServers(store.state).response
+      case _ => pactDispatch(request, store)
     }
   }
 }
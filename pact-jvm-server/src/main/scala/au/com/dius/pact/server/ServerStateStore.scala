@@ -0,0 +1,84 @@
+package au.com.dius.pact.server
+
+import java.util.concurrent.atomic.AtomicReference
+
+import scala.annotation.tailrec
+import scala.collection.immutable.Map
+
+/**
+ * Registry of the running mock providers, keyed by port and by path. The state is an immutable snapshot together with
+ * the routes built from it, so requests for the mock providers are routed without locking. Changes to the state
+ * replace the snapshot with a compare-and-set, so concurrent changes are not lost. Starting and stopping the mock
+ * providers is done by the callers outside of the update.
+ */
+class ServerStateStore {
+  private val current = new AtomicReference(new RoutedState(Map()))
+
+  def state: ServerState = current.get.state
+
+  def routes: PathRoutes = current.get.routes
+
+  /**
+   * Applies the change to the current state and stores the new state. If another change is stored first, the change
+   * is applied again to the latest state, so it must not have any side effects. Returns the state the change was
+   * applied to.
+   */
+  @tailrec
+  final def update(change: ServerState => ServerState): ServerState = {
+    val old = current.get
+    val newState = change(old.state)
+    if ((newState eq old.state) || current.compareAndSet(old, new RoutedState(newState))) {
+      old.state
+    } else {
+      update(change)
+    }
+  }
+
+  /**
+   * Removes all the entries for the mock provider. Returns false if they have already been removed by another request.
+   */
+  def remove(provider: StatefulMockProvider): Boolean =
+    update(_.filter(p => p._2 != provider)).exists(p => p._2 == provider)
+
+  private class RoutedState(val state: ServerState) {
+    val routes = new PathRoutes(state)
+  }
+}
+
+/**
+ * Prefix trie of the keys of the server state. Finding the mock provider for a request path only visits a node per
+ * character of the path, instead of checking the path against every key.
+ */
+class PathRoutes(state: ServerState) {
+  private class Node {
+    val children = new java.util.HashMap[Char, Node]()
+    var provider: Option[StatefulMockProvider] = None
+  }
+
+  private val root = new Node
+
+  state.foreach { case (key, provider) =>
+    var node = root
+    for (ch <- key) {
+      node = node.children.computeIfAbsent(ch, _ => new Node)
+    }
+    node.provider = Some(provider)
+  }
+
+  /**
+   * Returns the mock provider registered with the longest key that is a prefix of the path
+   */
+  def matchPath(path: String): Option[StatefulMockProvider] = {
+    var node = root
+    var result = root.provider
+    var i = 0
+    while (node != null && i < path.length) {
+      node = node.children.get(path.charAt(i))
+      if (node != null && node.provider.isDefined) {
+        result = node.provider
+      }
+      i += 1
+    }
+    result
+  }
+}
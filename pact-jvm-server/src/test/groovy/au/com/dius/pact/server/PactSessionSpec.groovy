@@ -0,0 +1,84 @@
+package au.com.dius.pact.server
+
+import au.com.dius.pact.core.model.Consumer
+import au.com.dius.pact.core.model.Provider
+import au.com.dius.pact.core.model.Request
+import au.com.dius.pact.core.model.RequestResponseInteraction
+import au.com.dius.pact.core.model.RequestResponsePact
+import au.com.dius.pact.core.model.Response
+import scala.collection.JavaConverters
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+class PactSessionSpec extends Specification {
+
+  private RequestResponsePact pact
+
+  def setup() {
+    def interactions = (1..4).collect {
+      new RequestResponseInteraction("interaction $it", [], new Request('GET', "/path/$it"),
+        new Response(200))
+    }
+    pact = new RequestResponsePact(new Provider('provider'), new Consumer('consumer'), interactions)
+  }
+
+  def 'records the results of requests in the order they were received'() {
+    given:
+    def session = PactSession.forPact(pact)
+
+    when:
+    def responses = [
+      session.receiveRequest(new Request('GET', '/path/2')),
+      session.receiveRequest(new Request('GET', '/other')),
+      session.receiveRequest(new Request('GET', '/path/1')),
+      session.receiveRequest(new Request('POST', '/path/3'))
+    ]
+    def results = session.remainingResults()
+
+    then:
+    responses*.status == [200, 500, 200, 500]
+    asList(results.matched())*.description == ['interaction 2', 'interaction 1']
+    asList(results.unexpected())*.path == ['/other', '/path/3']
+    asList(results.missing())*.description == ['interaction 3', 'interaction 4']
+    !results.allMatched()
+  }
+
+  def 'can receive requests concurrently'() {
+    given:
+    def session = PactSession.forPact(pact)
+    def executor = Executors.newFixedThreadPool(8)
+    def requests = (1..400).collect { i -> new Request('GET', "/path/${i % 4 + 1}") }
+
+    when:
+    def responses = executor.invokeAll(requests.collect { request ->
+      { -> session.receiveRequest(request) } as Callable
+    })*.get()
+    def results = session.remainingResults()
+
+    then:
+    responses*.status.every { it == 200 }
+    asList(results.matched()).size() == 400
+    results.allMatched()
+
+    cleanup:
+    executor.shutdown()
+  }
+
+  def 'requests received before a pact is started are unexpected'() {
+    given:
+    def session = PactSession.empty()
+
+    when:
+    def response = session.receiveRequest(new Request('GET', '/path/1'))
+
+    then:
+    response.status == 500
+    asList(session.results().unexpected())*.path == ['/path/1']
+  }
+
+  private static List asList(scala.collection.immutable.List list) {
+    JavaConverters.seqAsJavaList(list)
+  }
+}
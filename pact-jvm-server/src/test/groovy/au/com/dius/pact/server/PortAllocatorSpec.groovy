@@ -0,0 +1,46 @@
+package au.com.dius.pact.server
+
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+class PortAllocatorSpec extends Specification {
+
+  def 'concurrent reservations get different ports in the range'() {
+    given:
+    def executor = Executors.newFixedThreadPool(16)
+
+    when:
+    def ports = executor.invokeAll((1..100).collect {
+      { -> PortAllocator.reserve(31000, 31200).get() } as Callable
+    })*.get()
+
+    then:
+    ports.unique(false).size() == 100
+    ports.every { it >= 31000 && it < 31200 }
+
+    cleanup:
+    executor.shutdown()
+    ports?.each { PortAllocator.release(it) }
+  }
+
+  def 'returns no port when all the ports in the range are reserved'() {
+    given:
+    def ports = (1..3).collect { PortAllocator.reserve(32000, 32003).get() }
+
+    expect:
+    ports.sort() == [32000, 32001, 32002]
+    PortAllocator.reserve(32000, 32003).empty
+
+    when:
+    PortAllocator.release(32001)
+
+    then:
+    !PortAllocator.isReserved(32001)
+    PortAllocator.reserve(32000, 32003).get() == 32001
+
+    cleanup:
+    (32000..32002).each { PortAllocator.release(it) }
+  }
+}
@@ -0,0 +1,87 @@
+package au.com.dius.pact.server
+
+import au.com.dius.pact.core.model.Request
+import scala.Option
+import scala.Tuple2
+import scala.collection.immutable.HashMap
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+class ServerStateStoreSpec extends Specification {
+
+  def 'routes requests to the mock provider with the longest matching path'() {
+    given:
+    def a = Mock(StatefulMockProvider)
+    def b = Mock(StatefulMockProvider)
+    def c = Mock(StatefulMockProvider)
+    def routes = new PathRoutes(state(['1234': a, '/data': a, '/data/items': b, '/other': c]))
+
+    expect:
+    routes.matchPath('/data') == Option.apply(a)
+    routes.matchPath('/data/item') == Option.apply(a)
+    routes.matchPath('/data/items/100') == Option.apply(b)
+    routes.matchPath('/other?query=1') == Option.apply(c)
+    routes.matchPath('/dat') == Option.empty()
+    routes.matchPath('/') == Option.empty()
+  }
+
+  def 'routes requests with thousands of registered mock providers'() {
+    given:
+    def providers = (0..<5000).collect { Mock(StatefulMockProvider) }
+    def entries = [:]
+    providers.eachWithIndex { provider, i ->
+      entries[(20000 + i).toString()] = provider
+      entries["/mock/$i/".toString()] = provider
+    }
+    def routes = new PathRoutes(state(entries))
+
+    expect:
+    (0..<5000).every { routes.matchPath("/mock/$it/path") == Option.apply(providers[it]) }
+    routes.matchPath('/mock/5000/path') == Option.empty()
+  }
+
+  def 'concurrent updates to the state are not lost'() {
+    given:
+    def store = new ServerStateStore()
+    def executor = Executors.newFixedThreadPool(8)
+    def provider = Mock(StatefulMockProvider)
+
+    when:
+    executor.invokeAll((0..<200).collect { i ->
+      { ->
+        store.update { oldState -> oldState.updated("/path/$i".toString(), provider) }
+      } as Callable
+    })*.get()
+
+    then:
+    store.state().size() == 200
+    store.routes().matchPath('/path/150') == Option.apply(provider)
+
+    cleanup:
+    executor.shutdown()
+  }
+
+  def 'removing a mock provider removes all its entries, and only succeeds once'() {
+    given:
+    def store = new ServerStateStore()
+    def a = Mock(StatefulMockProvider)
+    def b = Mock(StatefulMockProvider)
+    store.update { state(['1234': a, '/a': a, '1235': b]) }
+
+    when:
+    def first = store.remove(a)
+    def second = store.remove(a)
+
+    then:
+    first
+    !second
+    store.state() == state(['1235': b])
+    store.routes().matchPath('/a') == Option.empty()
+  }
+
+  private static HashMap state(Map<String, StatefulMockProvider> entries) {
+    entries.inject(new HashMap()) { map, entry -> map.$plus(new Tuple2(entry.key, entry.value)) }
+  }
+}
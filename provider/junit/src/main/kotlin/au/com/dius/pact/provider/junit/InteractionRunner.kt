@@ -24,9 +24,11 @@ import au.com.dius.pact.provider.junit.target.TestClassAwareTarget
 import au.com.dius.pact.provider.junitsupport.IgnoreMissingStateChange
 import au.com.dius.pact.provider.junitsupport.MissingStateChangeMethod
 import au.com.dius.pact.provider.junitsupport.State
+import au.com.dius.pact.provider.junitsupport.StateChangeDispatchTable
 import au.com.dius.pact.provider.junitsupport.TargetRequestFilter
 import au.com.dius.pact.provider.junitsupport.target.Target
 import au.com.dius.pact.provider.junitsupport.target.TestTarget
+import au.com.dius.pact.provider.junitsupport.target.TestTargetResources
 import io.github.oshai.kotlinlogging.KLogging
 import org.junit.After
 import org.junit.Before
@@ -77,6 +79,7 @@ open class InteractionRunner(
   private val testContext = ConcurrentHashMap<String, Any>()
   private val childDescriptions = ConcurrentHashMap<String, Description>()
   private val descriptionGenerator = DescriptionGenerator(testClass, pact)
+  private val targetResources = TestTargetResources()
   protected var propertyResolver: ValueResolver = SystemPropertyResolver
 
   var testResultAccumulator: TestResultAccumulator = DefaultTestResultAccumulator
@@ -160,6 +163,14 @@ open class InteractionRunner(
 
   // Running
   override fun run(notifier: RunNotifier) {
+    try {
+      runInteractions(notifier)
+    } finally {
+      targetResources.close()
+    }
+  }
+
+  private fun runInteractions(notifier: RunNotifier) {
     for (interaction in pact.interactions) {
       val description = describeChild(interaction)
       val interactionId = interaction.interactionId
@@ -266,10 +277,15 @@ open class InteractionRunner(
           results[interaction.uniqueKey()] = Pair(result, verifier)
         }
         Metrics.sendMetrics(MetricEvent.ProviderVerificationRan(1, "junit"))
-        target.testInteraction(pact.consumer.name, interaction, source,
-          mutableMapOf("providerState" to context, "ArrayContainsJsonGenerator" to ArrayContainsJsonGenerator),
-          pending
-        )
+        targetResources.acquire(target)
+        try {
+          target.testInteraction(pact.consumer.name, interaction, source,
+            mutableMapOf("providerState" to context, "ArrayContainsJsonGenerator" to ArrayContainsJsonGenerator),
+            pending
+          )
+        } finally {
+          targetResources.release(target)
+        }
       }
     }
     statement = withStateChanges(interaction, testInstance, statement, target)
@@ -334,10 +350,10 @@ open class InteractionRunner(
     state: ProviderState,
     stateHandlers: List<TuplePair<Class<out Any>, Supplier<out Any>>>
   ): List<Pair<FrameworkMethod, State>> {
-    return (listOf(testClass) + stateHandlers.map { TestClass(it.left) })
-    .flatMap { getAnnotatedMethods(it, State::class.java) }
-    .map { method -> method to method.getAnnotation(State::class.java) }
-    .filter { pair -> pair.second.value.contains(state.name) }
+    val name = state.name ?: return emptyList()
+    return (listOf(testClass.javaClass) + stateHandlers.map { it.left })
+      .flatMap { dispatchTables.forClass(it).methodsFor(name) }
+      .map { FrameworkMethod(it.method) to it.state }
   }
 
   protected open fun withBefores(interaction: Interaction, target: Any, statement: Statement): Statement {
@@ -357,6 +373,9 @@ open class InteractionRunner(
   }
 
   companion object : KLogging() {
+    private val dispatchTables = StateChangeDispatchTable.Cache { clazz ->
+      getAnnotatedMethods(TestClass(clazz), State::class.java).map { it.method }
+    }
 
     private fun validateStateChangeMethods(testClass: TestClass, errors: MutableList<Throwable>) {
       getAnnotatedMethods(testClass, State::class.java).forEach { method ->
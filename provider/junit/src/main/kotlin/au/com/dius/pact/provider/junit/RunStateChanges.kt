@@ -8,7 +8,6 @@ import io.github.oshai.kotlinlogging.KLogging
 import org.junit.runners.model.FrameworkMethod
 import org.junit.runners.model.Statement
 import java.util.function.Supplier
-import kotlin.reflect.full.isSubclassOf
 
 data class StateChangeCallbackFailed(
   override val message: String,
@@ -45,7 +44,7 @@ class RunStateChanges(
           }
         }
         val target = stateChangeHandlers.map(Supplier<out Any>::get).find {
-          it::class.isSubclassOf(method.first.declaringClass.kotlin)
+          method.first.declaringClass.isInstance(it)
         }
         val stateChangeValue = try {
           if (method.first.method.parameterCount == 1) {
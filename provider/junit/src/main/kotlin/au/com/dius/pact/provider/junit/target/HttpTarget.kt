@@ -16,12 +16,14 @@ import au.com.dius.pact.provider.VerificationResult
 import au.com.dius.pact.provider.junitsupport.Provider
 import au.com.dius.pact.provider.junitsupport.TargetRequestFilter
 import org.apache.hc.core5.http.ClassicHttpRequest
+import java.io.Closeable
 import java.net.URL
 import java.util.function.Consumer
 
 /**
  * Out-of-the-box implementation of [Target],
- * that run [Interaction] against http service and verify response
+ * that run [Interaction] against http service and verify response. The HTTP client factory is created on first use
+ * and shared by all the interactions verified with this target, and is closed when the target is closed.
  */
 open class HttpTarget
   /**
@@ -39,7 +41,9 @@ open class HttpTarget
     val path: String = "/",
     val insecure: Boolean = false,
     val httpClientFactory: () -> IHttpClientFactory = { HttpClientFactory() }
-  ) : BaseTarget() {
+  ) : BaseTarget(), Closeable {
+
+  private var clientFactory: IHttpClientFactory? = null
 
   /**
    * @param port port of tested service
@@ -70,8 +74,6 @@ open class HttpTarget
     context: MutableMap<String, Any>,
     pending: Boolean
   ) {
-    val client = ProviderClient(provider, this.httpClientFactory.invoke())
-
     val requestResponse = interaction.asSynchronousRequestResponse()
     val result = if (requestResponse == null) {
       val message = "HttpTarget can only be used with Request/Response interactions, got $interaction"
@@ -80,8 +82,9 @@ open class HttpTarget
           interaction.interactionId.orEmpty() to listOf(VerificationFailureType.InvalidInteractionFailure(message))
         ), pending)
     } else {
-      verifier.verifyResponseFromProvider(provider, requestResponse, interaction.description, mutableMapOf(), client,
-        context, pending)
+      val client = ProviderClient(provider, clientFactory())
+      verifier.verifyResponseFromProvider(provider, requestResponse, interaction.description, mutableMapOf(),
+        client, context, pending)
     }
 
     reportTestResult(result, verifier)
@@ -96,6 +99,24 @@ open class HttpTarget
     }
   }
 
+  @Synchronized
+  private fun clientFactory(): IHttpClientFactory {
+    return clientFactory ?: httpClientFactory.invoke().also { clientFactory = it }
+  }
+
+  /**
+   * Closes the HTTP clients created for this target. The target can still be used afterwards, and will create a new
+   * client factory when needed.
+   */
+  @Synchronized
+  override fun close() {
+    val factory = clientFactory
+    clientFactory = null
+    if (factory is Closeable) {
+      factory.close()
+    }
+  }
+
   override fun validForInteraction(interaction: Interaction) = interaction.isSynchronousRequestResponse()
 
   override fun setupVerifier(
@@ -20,6 +20,7 @@ import au.com.dius.pact.provider.TestResultAccumulator
 import au.com.dius.pact.provider.VerificationFailureType
 import au.com.dius.pact.provider.VerificationResult
 import au.com.dius.pact.provider.junitsupport.VerificationReports
+import au.com.dius.pact.provider.junitsupport.target.TestTargetResources
 import au.com.dius.pact.provider.reporters.ReporterManager
 import io.pact.plugins.jvm.core.InteractionVerificationData
 import io.github.oshai.kotlinlogging.KLogging
@@ -127,6 +128,9 @@ open class PactVerificationExtension(
     val store = context.getStore(namespace)
     val testContext = store.get("interactionContext") as PactVerificationContext
 
+    targetResources(context).acquire(testContext.target)
+    store.put("target", testContext.target)
+
     val providerInfo = testContext.target.getProviderInfo(serviceName, pactSource)
     testContext.providerInfo = providerInfo
 
@@ -212,6 +216,10 @@ open class PactVerificationExtension(
   override fun afterTestExecution(context: ExtensionContext) {
     val store = context.getStore(ExtensionContext.Namespace.create("pact-jvm"))
     val testContext = store.get("interactionContext") as PactVerificationContext
+    val target = store.get("target")
+    if (target != null) {
+      targetResources(context).release(target)
+    }
     val pact = if (this.pact is FilteredPact) pact.pact else pact
     if (context.executionException.isPresent) {
       val e = context.executionException.get()
@@ -236,5 +244,20 @@ open class PactVerificationExtension(
     }
   }
 
+  /**
+   * The test targets are tracked in the store of the test class, so any targets still open are closed once all the
+   * interactions for the test class have been verified
+   */
+  private fun targetResources(context: ExtensionContext): TestTargetResources {
+    var classContext = context
+    while (classContext.testMethod.isPresent && classContext.parent.isPresent) {
+      classContext = classContext.parent.get()
+    }
+    return classContext.getStore(namespace).getOrComputeIfAbsent("targetResources",
+      { StoredTestTargetResources() }, StoredTestTargetResources::class.java)
+  }
+
+  private class StoredTestTargetResources : TestTargetResources(), ExtensionContext.Store.CloseableResource
+
   companion object : KLogging()
 }
@@ -13,14 +13,14 @@ import au.com.dius.pact.provider.junitsupport.IgnoreMissingStateChange
 import au.com.dius.pact.provider.junitsupport.MissingStateChangeMethod
 import au.com.dius.pact.provider.junitsupport.State
 import au.com.dius.pact.provider.junitsupport.StateChangeAction
+import au.com.dius.pact.provider.junitsupport.StateChangeDispatchTable
+import au.com.dius.pact.provider.junitsupport.StateChangeMethod
 import io.github.oshai.kotlinlogging.KLogging
 import org.junit.jupiter.api.extension.AfterTestExecutionCallback
 import org.junit.jupiter.api.extension.BeforeTestExecutionCallback
 import org.junit.jupiter.api.extension.ExtensionContext
 import org.junit.platform.commons.support.AnnotationSupport
 import org.junit.platform.commons.support.HierarchyTraversalMode
-import org.junit.platform.commons.support.ReflectionSupport
-import java.lang.reflect.Method
 
 /**
  * JUnit 5 test extension class for executing state change callbacks
@@ -99,7 +99,8 @@ class PactVerificationStateChangeExtension(
           errors.add(message)
         }
       } else {
-        stateChangeMethods.filter { it.second.action == action }.forEach { (method, stateAnnotation, instance) ->
+        stateChangeMethods.filter { it.first.state.action == action }.forEach { (method, instance) ->
+          val stateAnnotation = method.state
           logger.info {
             val name = stateAnnotation.value.joinToString(", ")
             if (stateAnnotation.comment.isNotEmpty()) {
@@ -108,11 +109,7 @@ class PactVerificationStateChangeExtension(
               "Invoking state change method '$name':${stateAnnotation.action}"
             }
           }
-          val stateChangeValue = if (method.parameterCount > 0) {
-            ReflectionSupport.invokeMethod(method, instance, state.params)
-          } else {
-            ReflectionSupport.invokeMethod(method, instance)
-          }
+          val stateChangeValue = method.invoke(instance, state.params)
 
           if (stateChangeValue is Map<*, *>) {
             providerStateContext.putAll(stateChangeValue as Map<String, Any?>)
@@ -132,22 +129,20 @@ class PactVerificationStateChangeExtension(
     testClass: Any,
     stateChangeHandlers: List<Any>,
     state: ProviderState
-  ): List<Triple<Method, State, Any>> {
-    val stateChangeClasses =
-      AnnotationSupport.findAnnotatedMethods(testClass.javaClass, State::class.java, HierarchyTraversalMode.TOP_DOWN)
-        .map { it to testClass }
-        .plus(stateChangeHandlers.flatMap { handler ->
-          AnnotationSupport.findAnnotatedMethods(handler.javaClass, State::class.java, HierarchyTraversalMode.TOP_DOWN)
-            .map { it to handler }
-        })
-    return stateChangeClasses
-      .map { Triple(it.first, it.first.getAnnotation(State::class.java), it.second) }
-      .filter { it.second.value.any { s -> state.name == s } }
+  ): List<Pair<StateChangeMethod, Any>> {
+    val name = state.name ?: return emptyList()
+    return (listOf(testClass) + stateChangeHandlers).flatMap { instance ->
+      dispatchTables.forClass(instance.javaClass).methodsFor(name).map { it to instance }
+    }
   }
 
   private fun ignoreMissingStateChangeMethod(testClass: Class<*>): Boolean {
     return ProviderUtils.findAnnotation(testClass, IgnoreMissingStateChange::class.java) != null
   }
 
-  companion object : KLogging()
+  companion object : KLogging() {
+    private val dispatchTables = StateChangeDispatchTable.Cache { clazz ->
+      AnnotationSupport.findAnnotatedMethods(clazz, State::class.java, HierarchyTraversalMode.TOP_DOWN)
+    }
+  }
 }
@@ -19,6 +19,7 @@ import au.com.dius.pact.provider.ProviderClient
 import au.com.dius.pact.provider.ProviderInfo
 import au.com.dius.pact.provider.ProviderResponse
 import org.apache.hc.client5.http.classic.methods.HttpUriRequest
+import java.io.Closeable
 import java.net.URL
 import java.net.URLClassLoader
 import java.util.function.Function
@@ -64,7 +65,8 @@ interface TestTarget {
 }
 
 /**
- * Test target for HTTP tests. This is the default target.
+ * Test target for HTTP tests. This is the default target. The HTTP client factory is created on first use and shared
+ * by all the interactions verified with this target, and is closed when the target is closed.
  *
  * @property host Host to bind to. Defaults to localhost.
  * @property port Port that the provider is running on. Defaults to 8080.
@@ -75,7 +77,9 @@ open class HttpTestTarget @JvmOverloads constructor (
   val port: Int = 8080,
   val path: String = "/",
   val httpClientFactory: () -> IHttpClientFactory = { HttpClientFactory() }
-) : TestTarget {
+) : TestTarget, Closeable {
+  private var clientFactory: IHttpClientFactory? = null
+
   override fun isHttpTarget() = true
 
   override val userConfig: Map<String, Any?> = emptyMap()
@@ -90,7 +94,7 @@ open class HttpTestTarget @JvmOverloads constructor (
   }
 
   override fun prepareRequest(pact: Pact, interaction: Interaction, context: MutableMap<String, Any>): Pair<Any, Any>? {
-    val providerClient = ProviderClient(getProviderInfo("provider"), this.httpClientFactory.invoke())
+    val providerClient = ProviderClient(getProviderInfo("provider"), clientFactory())
     if (interaction is SynchronousRequestResponse) {
       val request = interaction.request.generatedRequest(context, GeneratorTestMode.Provider)
       return providerClient.prepareRequest(request) to providerClient
@@ -106,6 +110,24 @@ open class HttpTestTarget @JvmOverloads constructor (
     return providerClient.executeRequest(providerClient.getHttpClient(), httpRequest)
   }
 
+  @Synchronized
+  private fun clientFactory(): IHttpClientFactory {
+    return clientFactory ?: httpClientFactory.invoke().also { clientFactory = it }
+  }
+
+  /**
+   * Closes the HTTP clients created for this target. The target can still be used afterwards, and will create a new
+   * client factory when needed.
+   */
+  @Synchronized
+  override fun close() {
+    val factory = clientFactory
+    clientFactory = null
+    if (factory is Closeable) {
+      factory.close()
+    }
+  }
+
   companion object {
     /**
      * Creates a HttpTestTarget from a URL. If the URL does not contain a port, 8080 will be used.
@@ -51,6 +51,8 @@ class Spring6MockMvcTestTarget @JvmOverloads constructor(
   var servletPath: String? = null
 ) : TestTarget {
   override val userConfig: Map<String, Any?> = emptyMap()
+  @Volatile
+  private var standaloneMockMvc: Pair<StandaloneConfig, MockMvc>? = null
 
     override fun getProviderInfo(serviceName: String, pactSource: PactSource?) = ProviderInfo(serviceName)
 
@@ -78,23 +80,49 @@ class Spring6MockMvcTestTarget @JvmOverloads constructor(
         this.messageConverters = messageConverters.asList()
     }
 
+    /**
+     * Returns the injected MockMvc, or a standalone MockMvc for the controllers, advices and message converters. The
+     * standalone MockMvc is built once and reused for the following interactions, and is only built again if the
+     * configuration changes.
+     */
     private fun buildMockMvc(): MockMvc {
         if (mockMvc != null) {
             return mockMvc!!
         }
 
+        val config = StandaloneConfig(controllers.toList(), controllerAdvices.toList(), messageConverters.toList(),
+          servletPath)
+        val cached = standaloneMockMvc
+        if (cached != null && cached.first == config) {
+            return cached.second
+        }
+
+        logger.debug { "Building standalone MockMvc for ${config.controllers.size} controllers" }
         val requestBuilder = MockMvcRequestBuilders.get("/")
         if (!servletPath.isNullOrEmpty()) {
             requestBuilder.servletPath(servletPath)
         }
 
-        return MockMvcBuilders.standaloneSetup(*controllers.toTypedArray())
+        val built = MockMvcBuilders.standaloneSetup(*controllers.toTypedArray())
           .setControllerAdvice(*controllerAdvices.toTypedArray())
           .setMessageConverters(*messageConverters.toTypedArray())
           .defaultRequest<StandaloneMockMvcBuilder>(requestBuilder)
           .build()
+        standaloneMockMvc = config to built
+        return built
     }
 
+    /**
+     * The configuration a standalone MockMvc was built with. The controllers, advices and converters are compared with
+     * their equals methods, which for most of them is by identity.
+     */
+    private data class StandaloneConfig(
+      val controllers: List<Any>,
+      val controllerAdvices: List<Any>,
+      val messageConverters: List<HttpMessageConverter<*>>,
+      val servletPath: String?
+    )
+
   private fun toMockRequestBuilder(request: IRequest): MockHttpServletRequestBuilder {
     val body = request.body
     val cookies = cookies(request)
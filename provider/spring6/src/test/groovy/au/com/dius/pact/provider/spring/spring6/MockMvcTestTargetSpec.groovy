@@ -5,6 +5,7 @@ import au.com.dius.pact.core.model.Pact
 import au.com.dius.pact.core.model.Request
 import au.com.dius.pact.core.model.RequestResponseInteraction
 import org.springframework.http.HttpStatus
+import org.springframework.http.converter.StringHttpMessageConverter
 import org.springframework.test.web.servlet.MockMvc
 import org.springframework.test.web.servlet.setup.MockMvcBuilders
 import org.springframework.web.bind.annotation.GetMapping
@@ -123,6 +124,30 @@ class MockMvcTestTargetSpec extends Specification {
         responseMap.body.valueAsString() == 'Hello 1234'
     }
 
+    def 'reuses the standalone mockMvc until the controllers, advices or converters change'() {
+        given:
+        def request = new Request('GET', '/data', [id: ['1234']])
+        def interaction = new RequestResponseInteraction('some description', [], request)
+        def pact = Mock(Pact)
+
+        when:
+        def client1 = mockMvcTestTarget.prepareRequest(pact, interaction, [:]).second
+        def client2 = mockMvcTestTarget.prepareRequest(pact, interaction, [:]).second
+        mockMvcTestTarget.setControllers(new TestResource())
+        def client3 = mockMvcTestTarget.prepareRequest(pact, interaction, [:]).second
+        mockMvcTestTarget.setMessageConverters(new StringHttpMessageConverter())
+        def client4 = mockMvcTestTarget.prepareRequest(pact, interaction, [:]).second
+        def client5 = mockMvcTestTarget.prepareRequest(pact, interaction, [:]).second
+
+        then:
+        client1.is(client2)
+        !client2.is(client3)
+        !client3.is(client4)
+        client4.is(client5)
+        mockMvcTestTarget.executeInteraction(client5, mockMvcTestTarget.prepareRequest(pact, interaction, [:]).first)
+          .statusCode == 200
+    }
+
     @RestController
     static class TestResource {
         @GetMapping(value = '/data', produces = 'application/json')
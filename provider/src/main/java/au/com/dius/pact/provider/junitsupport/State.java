@@ -28,4 +28,9 @@ public @interface State {
    * Comment associated with the state change callback
    */
   String comment() default "";
+
+  /**
+   * If the state names are regular expressions to match against the provider state name
+   */
+  boolean regex() default false;
 }
@@ -0,0 +1,87 @@
+package au.com.dius.pact.provider
+
+import au.com.dius.pact.core.model.Interaction
+import au.com.dius.pact.core.model.ProviderState
+import au.com.dius.pact.core.support.Result
+import io.github.oshai.kotlinlogging.KLogging
+
+/**
+ * State change handler that keeps the provider states set up while the following interactions need exactly the same
+ * provider states. The state is only set up for the first interaction, and the teardown for the last interaction is
+ * deferred until [finish] is called or an interaction with different provider states is verified.
+ *
+ * This only makes sense when the interactions are verified one after another, grouped by their provider states.
+ */
+class CoalescingStateChange(private val delegate: StateChange) : StateChange {
+  private var activeStates: List<ProviderState>? = null
+  private var activeResult: Map<String, Any?> = emptyMap()
+  private var activeMessage = ""
+  private var pendingTeardown: (() -> Unit)? = null
+
+  override fun executeStateChange(
+    verifier: IProviderVerifier,
+    provider: IProviderInfo,
+    consumer: IConsumerInfo,
+    interaction: Interaction,
+    interactionMessage: String,
+    failures: MutableMap<String, Any>,
+    providerClient: ProviderClient
+  ): StateChangeResult {
+    val states = interaction.providerStates
+    if (states == activeStates) {
+      logger.debug { "Provider states $states are already set up, not running the state change again" }
+      pendingTeardown = null
+      return StateChangeResult(Result.Ok(activeResult), interactionMessage + activeMessage)
+    }
+
+    finish()
+    val result = delegate.executeStateChange(verifier, provider, consumer, interaction, interactionMessage, failures,
+      providerClient)
+    val stateChangeResult = result.stateChangeResult
+    if (stateChangeResult is Result.Ok) {
+      activeStates = states
+      activeResult = stateChangeResult.value
+      activeMessage = result.message.removePrefix(interactionMessage)
+    }
+    return result
+  }
+
+  override fun stateChange(
+    verifier: IProviderVerifier,
+    state: ProviderState,
+    provider: IProviderInfo,
+    consumer: IConsumerInfo,
+    isSetup: Boolean,
+    providerClient: ProviderClient
+  ) = delegate.stateChange(verifier, state, provider, consumer, isSetup, providerClient)
+
+  override fun executeStateChangeTeardown(
+    verifier: IProviderVerifier,
+    interaction: Interaction,
+    provider: IProviderInfo,
+    consumer: IConsumerInfo,
+    providerClient: ProviderClient
+  ) {
+    if (interaction.providerStates == activeStates) {
+      pendingTeardown = {
+        delegate.executeStateChangeTeardown(verifier, interaction, provider, consumer, providerClient)
+      }
+    } else {
+      delegate.executeStateChangeTeardown(verifier, interaction, provider, consumer, providerClient)
+    }
+  }
+
+  /**
+   * Runs any deferred teardown, so the next interaction will set up its provider states again
+   */
+  fun finish() {
+    val teardown = pendingTeardown
+    pendingTeardown = null
+    activeStates = null
+    activeResult = emptyMap()
+    activeMessage = ""
+    teardown?.invoke()
+  }
+
+  companion object : KLogging()
+}
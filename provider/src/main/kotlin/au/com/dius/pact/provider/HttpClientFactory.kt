@@ -4,24 +4,45 @@ import groovy.lang.Binding
 import groovy.lang.Closure
 import groovy.lang.GroovyShell
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient
-import org.apache.hc.client5.http.impl.classic.HttpClientBuilder
 import org.apache.hc.client5.http.impl.classic.HttpClients
-import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager
-import org.apache.hc.client5.http.socket.ConnectionSocketFactory
-import org.apache.hc.client5.http.socket.PlainConnectionSocketFactory
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder
+import org.apache.hc.client5.http.socket.LayeredConnectionSocketFactory
 import org.apache.hc.client5.http.ssl.NoopHostnameVerifier
 import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory
 import org.apache.hc.client5.http.ssl.TrustAllStrategy
-import org.apache.hc.core5.http.config.RegistryBuilder
 import org.apache.hc.core5.ssl.SSLContextBuilder
 import org.apache.hc.core5.ssl.SSLContexts
+import org.apache.hc.core5.util.TimeValue
+import io.github.oshai.kotlinlogging.KLogging
+import java.io.Closeable
+import java.io.File
+import java.util.concurrent.ConcurrentHashMap
+import kotlin.math.max
 
 /**
- * HTTP Client Factory
+ * HTTP Client Factory. Clients are pooled, so one client (and its connection pool) is shared by all the requests to a
+ * provider made with this factory. This allows connections and TLS sessions to be reused between interactions. The
+ * clients are owned by the factory, and are closed when the factory is closed.
+ *
+ * If the size of the connection pool is not set with the `pact.verifier.httpclient.maxConnections` system property,
+ * the pool will allow at least [defaultMaxConnections] connections.
  */
-class HttpClientFactory : IHttpClientFactory {
+class HttpClientFactory @JvmOverloads constructor(
+  private val defaultMaxConnections: Int? = null
+) : IHttpClientFactory, Closeable {
+  private val clients = ConcurrentHashMap<ClientKey, CloseableHttpClient>()
 
   override fun newClient(provider: IProviderInfo): CloseableHttpClient {
+    val settings = ClientSettings.fromSystemProperties()
+    val key = ClientKey(provider.name, provider.createClient, provider.insecure, provider.trustStore,
+      provider.trustStorePassword, settings)
+    return clients.computeIfAbsent(key) {
+      logger.debug { "Creating new HTTP client for provider ${provider.name} with $settings" }
+      createClient(provider, settings)
+    }
+  }
+
+  private fun createClient(provider: IProviderInfo, settings: ClientSettings): CloseableHttpClient {
     return if (provider.createClient != null) {
       if (provider.createClient is Closure<*>) {
         (provider.createClient as Closure<*>).call(provider) as CloseableHttpClient
@@ -32,45 +53,21 @@ class HttpClientFactory : IHttpClientFactory {
         shell.evaluate(provider.createClient.toString()) as CloseableHttpClient
       }
     } else if (provider.insecure) {
-      createInsecure()
+      createInsecure(settings)
     } else if (provider.trustStore != null && provider.trustStorePassword != null) {
-      createWithTrustStore(provider)
+      createWithTrustStore(provider, settings)
     } else {
-      val builder = HttpClients.custom().useSystemProperties()
-      val enableRedirectHandling = System.getProperty("pact.verifier.enableRedirectHandling")
-      if (enableRedirectHandling.isNullOrEmpty() || enableRedirectHandling != "true") {
-        builder.disableRedirectHandling()
-      }
-      builder.build()
+      createPooled(settings, null)
     }
   }
 
-  private fun createWithTrustStore(provider: IProviderInfo): CloseableHttpClient {
+  private fun createWithTrustStore(provider: IProviderInfo, settings: ClientSettings): CloseableHttpClient {
     val password = provider.trustStorePassword.orEmpty().toCharArray()
     val sslcontext = SSLContexts.custom().loadTrustMaterial(provider.trustStore, password).build()
-    val socketFactoryRegistry = RegistryBuilder.create<ConnectionSocketFactory>()
-      .register("http", PlainConnectionSocketFactory.INSTANCE)
-      .register("https", SSLConnectionSocketFactory(sslcontext))
-      .build()
-    val connManager = PoolingHttpClientConnectionManager(socketFactoryRegistry)
-    val builder = HttpClients
-      .custom()
-      .useSystemProperties()
-      .setConnectionManager(connManager);
-    val enableRedirectHandling = System.getProperty("pact.verifier.enableRedirectHandling")
-    if (enableRedirectHandling.isNullOrEmpty() || enableRedirectHandling != "true") {
-      builder.disableRedirectHandling()
-    }
-    return builder.build()
+    return createPooled(settings, SSLConnectionSocketFactory(sslcontext))
   }
 
-  private fun createInsecure(): CloseableHttpClient {
-    val b = HttpClientBuilder.create().useSystemProperties()
-    val enableRedirectHandling = System.getProperty("pact.verifier.enableRedirectHandling")
-    if (enableRedirectHandling.isNullOrEmpty() || enableRedirectHandling != "true") {
-      b.disableRedirectHandling()
-    }
-
+  private fun createInsecure(settings: ClientSettings): CloseableHttpClient {
     // setup a Trust Strategy that allows all certificates.
     //
     val sslContext = SSLContextBuilder().loadTrustMaterial(TrustAllStrategy()).build()
@@ -80,21 +77,92 @@ class HttpClientFactory : IHttpClientFactory {
 
     // here's the special part:
     //      -- need to create an SSL Socket Factory, to use our weakened "trust strategy";
-    //      -- and create a Registry, to register it.
+    //      -- and use it for the https connections in the connection pool
     //
     val sslSocketFactory = SSLConnectionSocketFactory(sslContext, hostnameVerifier)
-    val socketFactoryRegistry = RegistryBuilder.create<ConnectionSocketFactory>()
-        .register("http", PlainConnectionSocketFactory.getSocketFactory())
-        .register("https", sslSocketFactory)
-        .build()
+    return createPooled(settings, sslSocketFactory)
+  }
+
+  private fun createPooled(
+    settings: ClientSettings,
+    sslSocketFactory: LayeredConnectionSocketFactory?
+  ): CloseableHttpClient {
+    val connManagerBuilder = PoolingHttpClientConnectionManagerBuilder.create().useSystemProperties()
+    if (sslSocketFactory != null) {
+      connManagerBuilder.setSSLSocketFactory(sslSocketFactory)
+    }
+    if (settings.maxConnections != null) {
+      connManagerBuilder.setMaxConnTotal(settings.maxConnections)
+      connManagerBuilder.setMaxConnPerRoute(settings.maxConnections)
+    } else if (defaultMaxConnections != null) {
+      connManagerBuilder.setMaxConnTotal(max(defaultMaxConnections, DEFAULT_MAX_CONNECTIONS_TOTAL))
+      connManagerBuilder.setMaxConnPerRoute(max(defaultMaxConnections, DEFAULT_MAX_CONNECTIONS_PER_ROUTE))
+    }
+
+    val builder = HttpClients.custom()
+      .useSystemProperties()
+      .setConnectionManager(connManagerBuilder.build())
+      // The client is shared between interactions, so cookies from one response must not be sent with the next request
+      .disableCookieManagement()
+    if (settings.keepAliveSeconds != null) {
+      val keepAlive = TimeValue.ofSeconds(settings.keepAliveSeconds)
+      builder.setKeepAliveStrategy { _, _ -> keepAlive }
+      builder.evictIdleConnections(keepAlive)
+    }
+    if (!settings.enableRedirectHandling) {
+      builder.disableRedirectHandling()
+    }
+    return builder.build()
+  }
+
+  /**
+   * Closes all the HTTP clients created by this factory. Any later requests will create new clients.
+   */
+  @Suppress("TooGenericExceptionCaught")
+  override fun close() {
+    clients.keys.toList().forEach { key ->
+      clients.remove(key)?.let {
+        try {
+          it.close()
+        } catch (e: Exception) {
+          logger.debug(e) { "Failed to close HTTP client" }
+        }
+      }
+    }
+  }
+
+  private data class ClientKey(
+    val provider: String,
+    val createClient: Any?,
+    val insecure: Boolean,
+    val trustStore: File?,
+    val trustStorePassword: String?,
+    val settings: ClientSettings
+  )
+
+  private data class ClientSettings(
+    val enableRedirectHandling: Boolean,
+    val maxConnections: Int?,
+    val keepAliveSeconds: Long?
+  ) {
+    companion object {
+      fun fromSystemProperties() = ClientSettings(
+        System.getProperty(ENABLE_REDIRECT_HANDLING) == "true",
+        System.getProperty(MAX_CONNECTIONS)?.trim()?.toIntOrNull()?.takeIf { it > 0 },
+        System.getProperty(KEEP_ALIVE)?.trim()?.toLongOrNull()?.takeIf { it > 0 }
+      )
+    }
+  }
 
-    // now, we create connection-manager using our Registry.
-    //      -- allows multi-threaded use
-    val connMgr = PoolingHttpClientConnectionManager(socketFactoryRegistry)
-    b.setConnectionManager(connMgr)
+  companion object : KLogging() {
+    const val ENABLE_REDIRECT_HANDLING = "pact.verifier.enableRedirectHandling"
+    const val MAX_CONNECTIONS = "pact.verifier.httpclient.maxConnections"
+    const val KEEP_ALIVE = "pact.verifier.httpclient.keepAlive"
 
-    // finally, build the HttpClient;
-    //      -- done!
-    return b.build()
+    /**
+     * Default pool limits of the Apache HTTP client
+     */
+    private const val DEFAULT_MAX_CONNECTIONS_TOTAL = 25
+    private const val DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 5
   }
 }
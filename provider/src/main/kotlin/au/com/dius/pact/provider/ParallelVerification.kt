@@ -0,0 +1,92 @@
+package au.com.dius.pact.provider
+
+import io.github.oshai.kotlinlogging.KLogging
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.ThreadFactory
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.Function
+
+/**
+ * Settings for verifying consumers and interactions in parallel. Parallel verification is opt-in, and is enabled by
+ * setting the pact.verifier.parallel property to true.
+ */
+data class ParallelVerification(
+  /**
+   * If the verification should be run in parallel
+   */
+  val enabled: Boolean = false,
+  /**
+   * Number of worker threads to use
+   */
+  val workers: Int = Runtime.getRuntime().availableProcessors(),
+  /**
+   * If the worker threads should be virtual threads (requires JDK 21+)
+   */
+  val virtualThreads: Boolean = false
+) {
+
+  /**
+   * Creates an executor with the configured number of workers. The threads will not stop the JVM from exiting.
+   */
+  fun newExecutor(name: String): ExecutorService {
+    val threadFactory = if (virtualThreads) virtualThreadFactory(name) else null
+    val executor = ThreadPoolExecutor(workers, workers, IDLE_SECONDS, TimeUnit.SECONDS, LinkedBlockingQueue(),
+      threadFactory ?: daemonThreadFactory(name))
+    executor.allowCoreThreadTimeOut(true)
+    return executor
+  }
+
+  companion object : KLogging() {
+    const val PACT_VERIFIER_PARALLEL = "pact.verifier.parallel"
+    const val PACT_VERIFIER_PARALLEL_WORKERS = "pact.verifier.parallel.workers"
+    const val PACT_VERIFIER_PARALLEL_VIRTUAL_THREADS = "pact.verifier.parallel.virtualThreads"
+    private const val IDLE_SECONDS = 30L
+
+    /**
+     * Reads the parallel verification settings using the property functions of the build tool
+     */
+    @JvmStatic
+    fun fromProperties(
+      hasProperty: Function<String, Boolean>,
+      getProperty: Function<String, String?>
+    ): ParallelVerification {
+      val property = { name: String -> if (hasProperty.apply(name)) getProperty.apply(name)?.trim() else null }
+      val enabled = property(PACT_VERIFIER_PARALLEL)?.lowercase() == "true"
+      val workers = property(PACT_VERIFIER_PARALLEL_WORKERS)?.toIntOrNull()
+      if (enabled && workers != null && workers < 1) {
+        logger.warn { "Ignoring $PACT_VERIFIER_PARALLEL_WORKERS value of $workers, it must be greater than zero" }
+      }
+      return ParallelVerification(
+        enabled,
+        workers?.takeIf { it > 0 } ?: Runtime.getRuntime().availableProcessors(),
+        property(PACT_VERIFIER_PARALLEL_VIRTUAL_THREADS)?.lowercase() == "true"
+      )
+    }
+
+    private fun daemonThreadFactory(name: String): ThreadFactory {
+      val count = AtomicInteger()
+      return ThreadFactory { runnable ->
+        val thread = Thread(runnable, "$name-${count.incrementAndGet()}")
+        thread.isDaemon = true
+        thread
+      }
+    }
+
+    @Suppress("TooGenericExceptionCaught")
+    private fun virtualThreadFactory(name: String): ThreadFactory? {
+      return try {
+        val builder = Thread::class.java.getMethod("ofVirtual").invoke(null)
+        val builderClass = Class.forName("java.lang.Thread\$Builder")
+        val namedBuilder = builderClass.getMethod("name", String::class.java, Long::class.javaPrimitiveType)
+          .invoke(builder, "$name-", 1L)
+        builderClass.getMethod("factory").invoke(namedBuilder) as ThreadFactory
+      } catch (e: Exception) {
+        logger.warn { "Virtual threads are not supported by this JVM (${e.message}), using platform threads" }
+        null
+      }
+    }
+  }
+}
@@ -35,6 +35,7 @@ import org.apache.hc.core5.http.HttpRequest
 import org.apache.hc.core5.http.io.entity.ByteArrayEntity
 import org.apache.hc.core5.http.io.entity.StringEntity
 import org.apache.hc.core5.net.URIBuilder
+import java.io.Closeable
 import java.io.File
 import java.lang.Boolean.getBoolean
 import java.net.URI
@@ -246,7 +247,7 @@ sealed class MetadataValue {
 open class ProviderClient(
   val provider: IProviderInfo,
   private val httpClientFactory: IHttpClientFactory
-) {
+) : Closeable {
 
   companion object : KLogging() {
     const val CONTENT_TYPE = "Content-Type"
@@ -429,6 +430,15 @@ open class ProviderClient(
 
   fun getHttpClient() = httpClientFactory.newClient(provider)
 
+  /**
+   * Closes the HTTP clients created by the client factory, if the factory can be closed
+   */
+  override fun close() {
+    if (httpClientFactory is Closeable) {
+      httpClientFactory.close()
+    }
+  }
+
   fun handleResponse(httpResponse: ClassicHttpResponse): ProviderResponse {
     logger.debug { "Received response: ${httpResponse.code}" }
 
@@ -0,0 +1,47 @@
+package au.com.dius.pact.provider
+
+import io.github.classgraph.ScanResult
+import io.github.oshai.kotlinlogging.KLogging
+import java.lang.reflect.Method
+
+/**
+ * Index of the methods annotated with [PactVerifyProvider] found by a classpath scan, keyed by the annotation value.
+ * The classpath only needs to be scanned once for a set of packages, and each interaction is then a map lookup.
+ */
+class ProviderMethodIndex(scanResult: ScanResult) {
+  private val methods = mutableMapOf<String, MutableList<() -> Method>>()
+
+  init {
+    val annotation = PactVerifyProvider::class.qualifiedName
+    scanResult.getClassesWithMethodAnnotation(annotation).forEach { classInfo ->
+      logger.debug { "found class $classInfo" }
+      classInfo.methodInfo.forEach { methodInfo ->
+        methodInfo.annotationInfo.filter { it.name == annotation }.forEach { info ->
+          val description = info.parameterValues["value"].value.toString()
+          // Load the method now, as the scan result will be closed, but only fail when the method is used
+          val method = try {
+            val method = methodInfo.loadClassAndGetMethod()
+            ({ method })
+          } catch (e: IllegalArgumentException) {
+            logger.debug(e) { "Failed to load method $methodInfo" }
+            ({ throw e })
+          }
+          methods.getOrPut(description) { mutableListOf() }.add(method)
+        }
+      }
+    }
+  }
+
+  /**
+   * Number of annotated methods in the index
+   */
+  val size: Int
+    get() = methods.values.sumOf { it.size }
+
+  /**
+   * Returns the methods annotated with the interaction description
+   */
+  fun methodsFor(description: String): List<Method> = methods[description].orEmpty().map { it() }
+
+  companion object : KLogging()
+}
@@ -43,6 +43,7 @@ import au.com.dius.pact.core.support.ifNullOrEmpty
 import au.com.dius.pact.core.support.json.JsonValue
 import au.com.dius.pact.core.support.property
 import au.com.dius.pact.provider.reporters.AnsiConsoleReporter
+import au.com.dius.pact.provider.reporters.BufferedReporter
 import au.com.dius.pact.provider.reporters.Event
 import au.com.dius.pact.provider.reporters.VerifierReporter
 import groovy.lang.Closure
@@ -55,9 +56,14 @@ import io.pact.plugins.jvm.core.PluginConfiguration
 import io.pact.plugins.jvm.core.PluginManager
 import io.github.oshai.kotlinlogging.KLogging
 import java.io.File
+import java.lang.ref.SoftReference
 import java.lang.reflect.Method
 import java.net.URL
 import java.net.URLClassLoader
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.WeakHashMap
+import java.util.concurrent.ExecutorService
 import java.util.function.BiConsumer
 import java.util.function.BiFunction
 import java.util.function.Function
@@ -378,7 +384,7 @@ open class ProviderVerifier @JvmOverloads constructor (
   override var checkBuildSpecificTask: Function<Any, Boolean> = Function { false },
   override var executeBuildSpecificTask: BiConsumer<Any, ProviderState> = BiConsumer { _, _ -> },
   override var projectClasspath: Supplier<List<URL>> = Supplier { emptyList<URL>() },
-  override var reporters: List<VerifierReporter> = listOf(AnsiConsoleReporter("console", File("/tmp/"))),
+  reporters: List<VerifierReporter> = listOf(AnsiConsoleReporter("console", File("/tmp/"))),
   override var providerMethodInstance: Function<Method, Any> = Function { m -> m.declaringClass.newInstance() },
   override var providerVersion: Supplier<String> = ProviderVersion {
     SystemPropertyResolver.resolveValue(PACT_PROVIDER_VERSION, "")
@@ -409,6 +415,23 @@ open class ProviderVerifier @JvmOverloads constructor (
   override var verificationSource: String? = null
   var pluginManager: PluginManager = DefaultPluginManager
   var responseComparer: IResponseComparison = ResponseComparison.Companion
+  private val bufferedReporters = ThreadLocal<List<VerifierReporter>?>()
+  private val coalescingStateChange = ThreadLocal<CoalescingStateChange?>()
+  @Volatile
+  private var interactionExecutor: ExecutorService? = null
+  /**
+   * HTTP client factory for the current verification run, so the pooled clients are shared by the interactions and
+   * are closed when the run is finished
+   */
+  @Volatile
+  private var httpClientFactory: HttpClientFactory? = null
+
+  /**
+   * When verifying in parallel, each worker thread reports to its own buffered reporters so that the output can be
+   * replayed in the order of the consumers and interactions
+   */
+  override var reporters: List<VerifierReporter> = reporters
+    get() = bufferedReporters.get() ?: field
 
   /**
    * This will return true unless the pact.verifier.publishResults property has the value of "true"
@@ -445,24 +468,12 @@ open class ProviderVerifier @JvmOverloads constructor (
   ): VerificationResult {
     val interactionId = interaction.interactionId
     try {
-      val classGraph = setupClassGraph(providerInfo, consumer)
-
-      val methodsAnnotatedWith = classGraph.scan().use { scanResult ->
-        scanResult.getClassesWithMethodAnnotation(PactVerifyProvider::class.qualifiedName)
-          .flatMap { classInfo ->
-            logger.debug { "found class $classInfo" }
-            val methodInfo = classInfo.methodInfo.filter {
-              it.annotationInfo.any { info ->
-                info.name == PactVerifyProvider::class.qualifiedName &&
-                  info.parameterValues["value"].value == interaction.description
-              }
-            }
-            logger.debug { "found method $methodInfo" }
-            methodInfo.map { it.loadClassAndGetMethod() }
-          }
+      val index = providerMethodIndex(providerInfo, consumer)
+      val start = System.nanoTime()
+      val methodsAnnotatedWith = index.methodsFor(interaction.description)
+      logger.debug {
+        "Found methods = $methodsAnnotatedWith (lookup took ${(System.nanoTime() - start) / NANOS_PER_MICRO}us)"
       }
-
-      logger.debug { "Found methods = $methodsAnnotatedWith" }
       if (methodsAnnotatedWith.isEmpty()) {
         emitEvent(Event.ErrorHasNoAnnotatedMethodsFoundForInteraction(interaction))
         if (interaction.isSynchronousMessages()) {
@@ -690,15 +701,47 @@ open class ProviderVerifier @JvmOverloads constructor (
     }
   }
 
-  private fun setupClassGraph(providerInfo: IProviderInfo, consumer: IConsumerInfo): ClassGraph {
+  /**
+   * Returns the index of the provider methods for the packages to scan for the provider and consumer. The classpath is
+   * only scanned the first time the packages, class loader and classpath are used, by any verifier.
+   */
+  private fun providerMethodIndex(providerInfo: IProviderInfo, consumer: IConsumerInfo): ProviderMethodIndex {
+    val classLoader = projectClassLoader?.get()
+    val urls = if (classLoader == null) projectClasspath.get() else emptyList()
+    val packages = ProviderUtils.packagesToScan(providerInfo, consumer)
+    val key = ProviderMethodScanKey(packages, urls.map { it.toString() })
+    return synchronized(providerMethodIndexes) {
+      val indexes = providerMethodIndexes.getOrPut(classLoader ?: NO_CLASS_LOADER) { mutableMapOf() }
+      indexes[key]?.get() ?: scanProviderMethods(classLoader, urls, packages).also {
+        indexes[key] = SoftReference(it)
+      }
+    }
+  }
+
+  /**
+   * Scans the classpath for the provider methods in the packages
+   */
+  protected open fun scanProviderMethods(
+    classLoader: ClassLoader?,
+    urls: List<URL>,
+    packages: List<String>
+  ): ProviderMethodIndex {
+    val start = System.nanoTime()
+    val index = setupClassGraph(classLoader, urls, packages).scan().use { ProviderMethodIndex(it) }
+    logger.debug {
+      "Scanned the classpath for provider methods in packages $packages, found ${index.size} methods " +
+        "(scan took ${(System.nanoTime() - start) / NANOS_PER_MILLI}ms)"
+    }
+    return index
+  }
+
+  private fun setupClassGraph(classLoader: ClassLoader?, urls: List<URL>, packages: List<String>): ClassGraph {
     val classGraph = ClassGraph().enableAllInfo()
     if (System.getProperty("pact.verifier.classpathscan.verbose") != null) {
       classGraph.verbose()
     }
 
-    val classLoader = projectClassLoader?.get()
     if (classLoader == null) {
-      val urls = projectClasspath.get()
       logger.debug { "projectClasspath = $urls" }
       if (urls.isNotEmpty()) {
         classGraph.overrideClassLoaders(URLClassLoader(urls.toTypedArray()))
@@ -707,14 +750,15 @@ open class ProviderVerifier @JvmOverloads constructor (
       classGraph.overrideClassLoaders(classLoader)
     }
 
-    val scan = ProviderUtils.packagesToScan(providerInfo, consumer)
-    if (scan.isNotEmpty()) {
+    if (packages.isNotEmpty()) {
       @Suppress("SpreadOperator")
-      classGraph.whitelistPackages(*scan.toTypedArray())
+      classGraph.whitelistPackages(*packages.toTypedArray())
     }
     return classGraph
   }
 
+  private data class ProviderMethodScanKey(val packages: List<String>, val classpath: List<String>)
+
   private fun emitEvent(event: Event) {
     reporters.forEach { it.receive(event) }
   }
@@ -902,7 +946,7 @@ open class ProviderVerifier @JvmOverloads constructor (
     consumer: IConsumerInfo,
     failures: MutableMap<String, Any>,
     interaction: Interaction,
-    providerClient: ProviderClient = ProviderClient(provider, HttpClientFactory())
+    providerClient: ProviderClient? = null
   ): VerificationResult = verifyInteraction(provider, consumer, failures, interaction, null, null, providerClient)
 
   @JvmOverloads
@@ -913,7 +957,32 @@ open class ProviderVerifier @JvmOverloads constructor (
     interaction: Interaction,
     pact: Pact?,
     transportEntry: CatalogueEntry?,
-    providerClient: ProviderClient = ProviderClient(provider, HttpClientFactory())
+    providerClient: ProviderClient? = null
+  ): VerificationResult {
+    if (providerClient != null) {
+      return verifyInteractionWithClient(provider, consumer, failures, interaction, pact, transportEntry, providerClient)
+    }
+    val runFactory = httpClientFactory
+    return if (runFactory != null) {
+      verifyInteractionWithClient(provider, consumer, failures, interaction, pact, transportEntry,
+        ProviderClient(provider, runFactory))
+    } else {
+      // Not part of a verification run, so the HTTP clients are only used for this interaction
+      ProviderClient(provider, HttpClientFactory()).use {
+        verifyInteractionWithClient(provider, consumer, failures, interaction, pact, transportEntry, it)
+      }
+    }
+  }
+
+  @Suppress("LongParameterList")
+  private fun verifyInteractionWithClient(
+    provider: IProviderInfo,
+    consumer: IConsumerInfo,
+    failures: MutableMap<String, Any>,
+    interaction: Interaction,
+    pact: Pact?,
+    transportEntry: CatalogueEntry?,
+    providerClient: ProviderClient
   ): VerificationResult {
     Metrics.sendMetrics(MetricEvent.ProviderVerificationRan(1, verificationSource.ifNullOrEmpty { "unknown" }!!))
 
@@ -929,7 +998,8 @@ open class ProviderVerifier @JvmOverloads constructor (
       pending = true
     }
 
-    val stateChangeResult = stateChangeHandler.executeStateChange(this, provider, consumer,
+    val stateChange = coalescingStateChange.get() ?: stateChangeHandler
+    val stateChangeResult = stateChange.executeStateChange(this, provider, consumer,
       interaction, interactionMessage, failures, providerClient)
     if (stateChangeResult.stateChangeResult is Ok) {
       interactionMessage = stateChangeResult.message
@@ -990,7 +1060,7 @@ open class ProviderVerifier @JvmOverloads constructor (
       }
 
       if (provider.stateChangeTeardown) {
-        stateChangeHandler.executeStateChangeTeardown(this, interaction, provider, consumer, providerClient)
+        stateChange.executeStateChangeTeardown(this, interaction, provider, consumer, providerClient)
       }
 
       return result
@@ -1144,8 +1214,112 @@ open class ProviderVerifier @JvmOverloads constructor (
       reporters.forEach { it.warnProviderHasNoConsumers(provider) }
     }
 
-    return consumers.map {
-      runVerificationForConsumer(mutableMapOf(), provider, it)
+    val parallel = parallelVerification()
+    return withHttpClientFactory(parallel) {
+      if (parallel.enabled && consumers.size > 1) {
+        verifyConsumersInParallel(provider, consumers, parallel)
+      } else {
+        consumers.map {
+          runVerificationForConsumer(mutableMapOf(), provider, it)
+        }
+      }
+    }
+  }
+
+  /**
+   * Runs the block with an HTTP client factory for the verification run, and closes its clients once the block is
+   * finished. When verifying in parallel, the connection pool allows at least one connection per worker.
+   */
+  private fun <T> withHttpClientFactory(parallel: ParallelVerification, block: () -> T): T {
+    if (httpClientFactory != null) {
+      return block()
+    }
+    val factory = HttpClientFactory(if (parallel.enabled) parallel.workers else null)
+    httpClientFactory = factory
+    return try {
+      block()
+    } finally {
+      httpClientFactory = null
+      factory.close()
+    }
+  }
+
+  /**
+   * Returns the settings for verifying consumers and interactions in parallel
+   */
+  fun parallelVerification() = ParallelVerification.fromProperties(projectHasProperty, projectGetProperty)
+
+  private fun verifyConsumersInParallel(
+    provider: IProviderInfo,
+    consumers: List<IConsumerInfo>,
+    parallel: ParallelVerification
+  ): List<VerificationResult> {
+    logger.debug { "Verifying ${consumers.size} consumers in parallel with ${parallel.workers} workers" }
+    val consumerExecutor = parallel.newExecutor("pact-verifier-consumer")
+    return try {
+      withInteractionExecutor(parallel) {
+        val target = reporters
+        val futures = consumers.map { consumer ->
+          CompletableFuture.supplyAsync({
+            runBuffered(target) { runVerificationForConsumer(mutableMapOf(), provider, consumer) }
+          }, consumerExecutor)
+        }
+        futures.map { it.join().replay(target) }
+      }
+    } catch (e: CompletionException) {
+      throw e.cause ?: e
+    } finally {
+      consumerExecutor.shutdown()
+    }
+  }
+
+  private fun <T> withInteractionExecutor(parallel: ParallelVerification, block: () -> T): T {
+    if (interactionExecutor != null) {
+      return block()
+    }
+    val executor = parallel.newExecutor("pact-verifier-interaction")
+    interactionExecutor = executor
+    return try {
+      block()
+    } finally {
+      interactionExecutor = null
+      executor.shutdown()
+    }
+  }
+
+  /**
+   * Runs the block with the reporters for the current thread replaced with buffered reporters. The buffered output is
+   * returned with the result so that it can be replayed later.
+   */
+  @Suppress("TooGenericExceptionCaught")
+  private fun <T> runBuffered(target: List<VerifierReporter>, block: () -> T): BufferedOutcome<T> {
+    val buffers = target.map { BufferedReporter(it) }
+    val previous = bufferedReporters.get()
+    bufferedReporters.set(buffers)
+    return try {
+      BufferedOutcome(buffers, block(), null)
+    } catch (e: Exception) {
+      BufferedOutcome(buffers, null, e)
+    } finally {
+      bufferedReporters.set(previous)
+    }
+  }
+
+  private class BufferedOutcome<T>(
+    val buffers: List<BufferedReporter>,
+    val result: T?,
+    val error: Exception?
+  ) {
+    /**
+     * Replays the buffered output against the reporters, and then returns the result or throws the error
+     */
+    fun replay(reporters: List<VerifierReporter>): T {
+      buffers.zip(reporters).forEach { (buffer, reporter) -> buffer.replay(reporter) }
+      if (error != null) {
+        throw error
+      }
+      @Suppress("UNCHECKED_CAST")
+      return result as T
     }
   }
 
@@ -1176,8 +1350,19 @@ open class ProviderVerifier @JvmOverloads constructor (
       reporters.forEach { it.warnPactFileHasNoInteractions(pact as Pact) }
       VerificationResult.Ok()
     } else {
-      val result = pact.interactions.map {
-        verifyInteraction(provider, consumer, failures, it, pact, provider.transportEntry)
+      val parallel = parallelVerification()
+      val result = withHttpClientFactory(parallel) {
+        if (parallel.enabled && pact.interactions.size > 1) {
+          withInteractionExecutor(parallel) {
+            verifyInteractionsInParallel(provider, consumer, failures, pact, interactionExecutor!!)
+          }
+        } else if (coalesceStateChanges() && pact.interactions.size > 1) {
+          verifyInteractionsGroupedByState(provider, consumer, failures, pact)
+        } else {
+          pact.interactions.map {
+            verifyInteraction(provider, consumer, failures, it, pact, provider.transportEntry)
+          }
+        }
       }.reduce { acc, result -> acc.merge(result) }
       result.merge(when {
         pact.isFiltered() -> {
@@ -1207,9 +1392,100 @@ open class ProviderVerifier @JvmOverloads constructor (
     }
   }
 
+  /**
+   * Verifies the interactions on the executor. Interactions with the same provider states are verified one after
+   * another, so their state changes are not run concurrently, while the groups of interactions with different
+   * provider states are verified in parallel. The reporter output, failures and results are collected in the order of
+   * the interactions in the pact file.
+   */
+  private fun verifyInteractionsInParallel(
+    provider: IProviderInfo,
+    consumer: IConsumerInfo,
+    failures: MutableMap<String, Any>,
+    pact: Pact,
+    executor: ExecutorService
+  ): List<VerificationResult> {
+    val target = reporters
+    val groups = pact.interactions.withIndex().groupBy { it.value.providerStates.toSet() }.values
+    logger.debug {
+      "Verifying ${pact.interactions.size} interactions for ${consumer.name} in ${groups.size} provider state groups"
+    }
+    val futures = groups.map { group ->
+      CompletableFuture.supplyAsync({
+        group.map { (index, interaction) ->
+          val interactionFailures = mutableMapOf<String, Any>()
+          val outcome = runBuffered(target) {
+            verifyInteraction(provider, consumer, interactionFailures, interaction, pact, provider.transportEntry)
+          }
+          Triple(index, interactionFailures, outcome)
+        }
+      }, executor)
+    }
+    return futures.flatMap { it.join() }
+      .sortedBy { it.first }
+      .map { (_, interactionFailures, outcome) ->
+        val result = outcome.replay(target)
+        failures.putAll(interactionFailures)
+        result
+      }
+  }
+
+  /**
+   * If interactions with the same provider states should share a single state change setup and teardown
+   */
+  fun coalesceStateChanges() = projectHasProperty.apply(PACT_VERIFIER_COALESCE_STATE_CHANGES) &&
+    projectGetProperty.apply(PACT_VERIFIER_COALESCE_STATE_CHANGES)?.trim()?.lowercase() == "true"
+
+  /**
+   * Verifies the interactions grouped by their provider states, so each distinct set of provider states is only set
+   * up and torn down once. The reporter output, failures and results are collected in the order of the interactions
+   * in the pact file.
+   */
+  private fun verifyInteractionsGroupedByState(
+    provider: IProviderInfo,
+    consumer: IConsumerInfo,
+    failures: MutableMap<String, Any>,
+    pact: Pact
+  ): List<VerificationResult> {
+    val target = reporters
+    val groups = pact.interactions.withIndex().groupBy { it.value.providerStates }.values
+    logger.debug {
+      "Verifying ${pact.interactions.size} interactions for ${consumer.name} in ${groups.size} provider state groups"
+    }
+    val stateChange = CoalescingStateChange(stateChangeHandler)
+    coalescingStateChange.set(stateChange)
+    try {
+      return groups.flatMap { group ->
+        group.mapIndexed { i, (index, interaction) ->
+          val interactionFailures = mutableMapOf<String, Any>()
+          val outcome = runBuffered(target) {
+            try {
+              verifyInteraction(provider, consumer, interactionFailures, interaction, pact, provider.transportEntry)
+            } finally {
+              if (i == group.size - 1) {
+                stateChange.finish()
+              }
+            }
+          }
+          Triple(index, interactionFailures, outcome)
+        }
+      }
+        .sortedBy { it.first }
+        .map { (_, interactionFailures, outcome) ->
+          val result = outcome.replay(target)
+          failures.putAll(interactionFailures)
+          result
+        }
+    } finally {
+      coalescingStateChange.remove()
+      stateChange.finish()
+    }
+  }
+
   /**
    * Initialise any required plugins and plugin entries required for the verification
    */
+  @Synchronized
   fun initialisePlugins(pact: Pact) {
     CatalogueManager.registerCoreEntries(
       MatchingConfig.contentMatcherCatalogueEntries() +
@@ -1388,6 +1664,7 @@ open class ProviderVerifier @JvmOverloads constructor (
   companion object : KLogging() {
     const val PACT_VERIFIER_PUBLISH_RESULTS = "pact.verifier.publishResults"
     const val PACT_VERIFIER_BUILD_URL = "pact.verifier.buildUrl"
+    const val PACT_VERIFIER_COALESCE_STATE_CHANGES = "pact.verifier.coalesceStateChanges"
     const val PACT_FILTER_CONSUMERS = "pact.filter.consumers"
     const val PACT_FILTER_DESCRIPTION = "pact.filter.description"
     const val PACT_FILTER_PROVIDERSTATE = "pact.filter.providerState"
@@ -1398,6 +1675,17 @@ open class ProviderVerifier @JvmOverloads constructor (
     const val PACT_PROVIDER_TAG = "pact.provider.tag"
     const val PACT_PROVIDER_BRANCH = "pact.provider.branch"
     const val PACT_PROVIDER_VERSION_TRIM_SNAPSHOT = "pact.provider.version.trimSnapshot"
+    private const val NANOS_PER_MICRO = 1000L
+    private const val NANOS_PER_MILLI = 1000000L
+
+    /**
+     * Provider method indexes shared by all verifiers, as the JUnit targets create a new verifier for each interaction.
+     * The class loaders are weak keys and the indexes are soft references, because the indexed methods refer back to
+     * the class loader, so the cache does not keep the test class loaders loaded.
+     */
+    private val providerMethodIndexes =
+      WeakHashMap<Any, MutableMap<ProviderMethodScanKey, SoftReference<ProviderMethodIndex>>>()
+    private val NO_CLASS_LOADER = Any()
 
     @Suppress("TooGenericExceptionCaught", "TooGenericExceptionThrown", "UnusedPrivateMember", "ThrowsCount")
     fun invokeProviderMethod(_desc: String, interaction: Interaction, m: Method, instance: Any?): Any? {
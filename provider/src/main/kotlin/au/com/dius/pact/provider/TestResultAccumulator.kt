@@ -12,6 +12,10 @@ import au.com.dius.pact.core.support.isNotEmpty
 import au.com.dius.pact.provider.ProviderVerifier.Companion.PACT_VERIFIER_PUBLISH_RESULTS
 import io.github.oshai.kotlinlogging.KLogging
 import org.apache.commons.lang3.builder.HashCodeBuilder
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
 
 /**
  * Accumulates the test results for the interactions. Once all the interactions for a pact have been verified,
@@ -35,9 +39,57 @@ interface TestResultAccumulator {
   fun clearTestResult(pact: Pact, source: PactSource?)
 }
 
+/**
+ * Default test result accumulator. It can be used from multiple threads (i.e. with JUnit 5 parallel execution). Each
+ * update is O(1): the results for a pact track the number of interactions that have not been verified yet, and the
+ * results are published once when that count reaches zero.
+ */
 object DefaultTestResultAccumulator : TestResultAccumulator, KLogging() {
 
-  val testResults: MutableMap<Int, MutableMap<Int, TestResult>> = mutableMapOf()
+  /**
+   * Test results received for a pact
+   */
+  class PactTestResults(pact: Pact) {
+    /** Hashes of the interactions in the pact */
+    val interactionHashes: Set<Int> = pact.interactions.map { calculateInteractionHash(it) }.toSet()
+    /** Results for each interaction, keyed by the interaction hash */
+    val results = ConcurrentHashMap<Int, TestResult>()
+    private val receivedOrder = ConcurrentLinkedQueue<Int>()
+    private val remaining = AtomicInteger(interactionHashes.size)
+    private val published = AtomicBoolean(false)
+
+    /**
+     * Records the result for the interaction, merging it with any existing result.
+     * @return true if all the interactions now have a result and this call should publish them
+     */
+    fun update(interactionHash: Int, testResult: TestResult): Boolean {
+      var first = false
+      results.compute(interactionHash) { _, existing ->
+        if (existing == null) {
+          first = true
+          testResult
+        } else {
+          existing.merge(testResult)
+        }
+      }
+      if (first) {
+        receivedOrder.add(interactionHash)
+        if (interactionHashes.contains(interactionHash)) {
+          remaining.decrementAndGet()
+        }
+      }
+      return remaining.get() == 0 && published.compareAndSet(false, true)
+    }
+
+    /** Number of interactions that do not have a result yet */
+    fun remaining() = remaining.get()
+
+    /** All the results merged together, in the order they were first received */
+    fun mergedResult() = receivedOrder.map { results[it]!! }.reduce { acc: TestResult, result -> acc.merge(result) }
+  }
+
+  val testResults: ConcurrentHashMap<Int, PactTestResults> = ConcurrentHashMap()
+  @Volatile
   var verificationReporter: VerificationReporter = DefaultVerificationReporter
 
   override fun updateTestResult(
@@ -63,36 +115,27 @@ object DefaultTestResultAccumulator : TestResultAccumulator, KLogging() {
     logger.debug { "Received test result '$testExecutionResult' for Pact ${pact.provider.name}-${pact.consumer.name} " +
       "and ${interaction.description} (${source?.description()})" }
     val pactHash = calculatePactHash(pact, source)
-    val interactionResults = testResults.getOrPut(pactHash) { mutableMapOf() }
+    val pactResults = testResults.computeIfAbsent(pactHash) { PactTestResults(pact) }
     val interactionHash = calculateInteractionHash(interaction)
-    val testResult = interactionResults[interactionHash]
-    if (testResult == null) {
-      interactionResults[interactionHash] = testExecutionResult
-    } else {
-      interactionResults[interactionHash] = testResult.merge(testExecutionResult)
-    }
-    val unverifiedInteractions = unverifiedInteractions(pact, interactionResults)
-    return if (unverifiedInteractions.isEmpty()) {
+    return if (pactResults.update(interactionHash, testExecutionResult)) {
       logger.debug {
         "All interactions for Pact ${pact.provider.name}-${pact.consumer.name} have a verification result"
       }
-      val result = if (verificationReporter.publishingResultsDisabled(propertyResolver)) {
+      testResults.remove(pactHash, pactResults)
+      if (verificationReporter.publishingResultsDisabled(propertyResolver)) {
         logger.warn {
           "Skipping publishing of verification results as it has been disabled " +
             "($PACT_VERIFIER_PUBLISH_RESULTS is not 'true')"
         }
         Result.Ok(false)
       } else {
-        val calculatedTestResult = interactionResults.values.reduce { acc: TestResult, result -> acc.merge(result) }
-        verificationReporter.reportResults(pact, calculatedTestResult, lookupProviderVersion(propertyResolver),
+        verificationReporter.reportResults(pact, pactResults.mergedResult(), lookupProviderVersion(propertyResolver),
           null, lookupProviderTags(propertyResolver), lookupProviderBranch(propertyResolver))
       }
-      testResults.remove(pactHash)
-      result
     } else {
-      logger.warn { "Not all of the ${pact.interactions.size} were verified. The following were missing:" }
-      unverifiedInteractions.forEach {
-        logger.warn { "    ${it.description}" }
+      logger.debug {
+        "${pactResults.remaining()} of the ${pactResults.interactionHashes.size} interactions for Pact " +
+          "${pact.provider.name}-${pact.consumer.name} have not been verified yet"
       }
       Result.Ok(true)
     }
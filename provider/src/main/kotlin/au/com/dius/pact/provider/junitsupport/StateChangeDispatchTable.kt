@@ -0,0 +1,122 @@
+package au.com.dius.pact.provider.junitsupport
+
+import au.com.dius.pact.core.support.RegexCache
+import io.github.oshai.kotlinlogging.KLogging
+import java.lang.invoke.MethodHandle
+import java.lang.invoke.MethodHandles
+import java.lang.invoke.MethodType
+import java.lang.reflect.InvocationTargetException
+import java.lang.reflect.Method
+import java.lang.reflect.Modifier
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * A method annotated with [State], bound to a method handle when the dispatch table is built
+ */
+class StateChangeMethod(val method: Method, val state: State, internal val index: Int) {
+  private val handle: MethodHandle? = bind(method)
+
+  /**
+   * Invokes the state change method on the target. The provider state parameters are passed if the method takes a
+   * parameter.
+   */
+  fun invoke(target: Any?, params: Map<String, Any?>): Any? {
+    val withParams = method.parameterCount > 0
+    return if (handle != null) {
+      if (withParams) handle.invoke(target, params) else handle.invoke(target)
+    } else {
+      try {
+        if (withParams) method.invoke(target, params) else method.invoke(target)
+      } catch (e: InvocationTargetException) {
+        throw e.targetException
+      }
+    }
+  }
+
+  /**
+   * If the state change method should be invoked for the provider state
+   */
+  fun matches(stateName: String): Boolean {
+    return if (state.regex) {
+      state.value.any { RegexCache.regex(it).matches(stateName) }
+    } else {
+      state.value.contains(stateName)
+    }
+  }
+
+  override fun toString() = "StateChangeMethod(${method.declaringClass.name}.${method.name}, ${state.action})"
+
+  companion object : KLogging() {
+    private fun bind(method: Method): MethodHandle? {
+      return try {
+        method.trySetAccessible()
+        var handle = MethodHandles.lookup().unreflect(method)
+        if (Modifier.isStatic(method.modifiers)) {
+          handle = MethodHandles.dropArguments(handle, 0, Any::class.java)
+        }
+        handle.asType(MethodType.genericMethodType(handle.type().parameterCount()))
+      } catch (e: IllegalAccessException) {
+        logger.debug(e) { "Could not create a method handle for $method, will invoke it with reflection" }
+        null
+      }
+    }
+  }
+}
+
+/**
+ * Dispatch table of the state change methods of a class, keyed by the provider state name. The table is built once
+ * per class, so looking up the methods for a provider state does not need to scan the class again. State names marked
+ * as regular expressions are matched against the provider state name, and the result of each lookup is cached.
+ */
+class StateChangeDispatchTable(methods: List<Method>) {
+  private val exact = mutableMapOf<String, MutableList<StateChangeMethod>>()
+  private val patterns = mutableListOf<StateChangeMethod>()
+  private val resolved = ConcurrentHashMap<String, List<StateChangeMethod>>()
+
+  init {
+    methods.forEachIndexed { index, method ->
+      val state = method.getAnnotation(State::class.java)
+      if (state != null) {
+        val stateChangeMethod = StateChangeMethod(method, state, index)
+        if (state.regex) {
+          patterns.add(stateChangeMethod)
+        } else {
+          state.value.forEach { exact.getOrPut(it) { mutableListOf() }.add(stateChangeMethod) }
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the state change methods for the provider state, in the order the methods were found
+   */
+  fun methodsFor(stateName: String): List<StateChangeMethod> {
+    return resolved.computeIfAbsent(stateName) { name ->
+      val methods = exact[name].orEmpty().distinct()
+      if (patterns.isEmpty()) {
+        methods
+      } else {
+        (methods + patterns.filter { it.matches(name) }).sortedBy { it.index }
+      }
+    }
+  }
+
+  /**
+   * Returns the state change methods for the provider state and action
+   */
+  fun methodsFor(stateName: String, action: StateChangeAction) =
+    methodsFor(stateName).filter { it.state.action == action }
+
+  /**
+   * Cache of the dispatch tables by class. The function to find the annotated methods of a class is provided, so each
+   * test framework can keep its own rules for which methods are state change methods. The tables are stored with a
+   * [ClassValue], so the cache does not keep test classes (or their class loaders) from being unloaded.
+   */
+  class Cache(private val findMethods: (Class<*>) -> List<Method>) {
+    private val tables = object : ClassValue<StateChangeDispatchTable>() {
+      override fun computeValue(type: Class<*>) = StateChangeDispatchTable(findMethods(type))
+    }
+
+    fun forClass(clazz: Class<*>): StateChangeDispatchTable = tables.get(clazz)
+  }
+}
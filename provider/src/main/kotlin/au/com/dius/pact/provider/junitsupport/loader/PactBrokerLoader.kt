@@ -8,10 +8,12 @@ import au.com.dius.pact.core.model.Pact
 import au.com.dius.pact.core.model.PactBrokerSource
 import au.com.dius.pact.core.model.PactReader
 import au.com.dius.pact.core.model.PactSource
+import au.com.dius.pact.core.model.loadPactFromBroker
 import au.com.dius.pact.core.pactbroker.ConsumerVersionSelectors
 import au.com.dius.pact.core.pactbroker.IPactBrokerClient
 import au.com.dius.pact.core.pactbroker.PactBrokerClient
 import au.com.dius.pact.core.pactbroker.PactBrokerClientConfig
+import au.com.dius.pact.core.pactbroker.PactBrokerResult
 import au.com.dius.pact.core.support.Result
 import au.com.dius.pact.core.support.Utils.permutations
 import au.com.dius.pact.core.support.expressions.DataType
@@ -26,6 +28,9 @@ import java.lang.reflect.Method
 import java.lang.reflect.Modifier
 import java.net.URI
 import java.net.URISyntaxException
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
 import kotlin.reflect.KClass
 import kotlin.reflect.full.companionObject
 import kotlin.reflect.full.companionObjectInstance
@@ -263,12 +268,62 @@ open class PactBrokerLoader(
           consumerInclusions.contains(it.name) }
       }
 
-      return consumers.map { pactReader.loadPact(it, pactBrokerClient.options) }
+      return loadPacts(consumers, pactBrokerClient, loadConcurrency(resolver))
     } catch (e: URISyntaxException) {
       throw IOException("Was not able load pacts from broker as the broker URL was invalid", e)
     }
   }
 
+  /**
+   * Downloads the pacts for the consumers, with up to [concurrency] downloads in progress at the same time. The pacts
+   * are returned in the same order as the consumers.
+   */
+  private fun loadPacts(
+    consumers: List<PactBrokerResult>,
+    pactBrokerClient: IPactBrokerClient,
+    concurrency: Int
+  ): List<Pact> {
+    val threads = minOf(concurrency, consumers.size)
+    if (threads <= 1) {
+      return consumers.map { loadPact(it, pactBrokerClient) }
+    }
+
+    logger.debug { "Loading ${consumers.size} pacts with $threads threads" }
+    val executor = Executors.newFixedThreadPool(threads)
+    try {
+      val futures = consumers.map { consumer -> executor.submit(Callable { loadPact(consumer, pactBrokerClient) }) }
+      return futures.map {
+        try {
+          it.get()
+        } catch (e: ExecutionException) {
+          throw e.cause ?: e
+        }
+      }
+    } finally {
+      executor.shutdownNow()
+    }
+  }
+
+  /**
+   * Loads the pact for the consumer. The default pact reader fetches it with the Pact Broker client used to find the
+   * consumers, instead of creating a new client for every pact.
+   */
+  private fun loadPact(consumer: PactBrokerResult, pactBrokerClient: IPactBrokerClient): Pact {
+    val options = pactBrokerClient.options
+    return if (pactReader === DefaultPactReader && pactBrokerClient is PactBrokerClient) {
+      val source = BrokerUrlSource.fromResult(consumer, options, consumer.tag)
+      val (json, pactSource) = loadPactFromBroker(source, options, pactBrokerClient)
+      pactReader.pactFromJson(json, pactSource)
+    } else {
+      pactReader.loadPact(consumer, options)
+    }
+  }
+
+  private fun loadConcurrency(resolver: ValueResolver): Int {
+    val value = resolver.resolveValue(LOAD_CONCURRENCY, null)
+    return value?.trim()?.toIntOrNull()?.takeIf { it > 0 } ?: DEFAULT_LOAD_CONCURRENCY
+  }
+
   fun brokerUrl(resolver: ValueResolver): URIBuilder {
     val (host, port, scheme, _, url) = getPactBrokerSource(resolver)
 
@@ -357,6 +412,9 @@ open class PactBrokerLoader(
   }
 
   companion object : KLogging() {
+    const val LOAD_CONCURRENCY = "pactbroker.loadConcurrency"
+    private const val DEFAULT_LOAD_CONCURRENCY = 1
+
     @JvmStatic
     fun invokeSelectorsMethod(
       testInstance: Any?,
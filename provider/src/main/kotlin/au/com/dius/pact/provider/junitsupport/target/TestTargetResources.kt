@@ -0,0 +1,68 @@
+package au.com.dius.pact.provider.junitsupport.target
+
+import io.github.oshai.kotlinlogging.KLogging
+import java.io.Closeable
+import java.util.IdentityHashMap
+
+/**
+ * Tracks the closeable test targets (like the HTTP targets, which own a pool of HTTP clients) used to verify the
+ * interactions of a test class. A target is kept open while the following interactions use the same target, so its
+ * connections are reused, and is closed once a different target is being used and no interaction is still using it.
+ * Any targets still open are closed when the test class is finished.
+ */
+open class TestTargetResources : Closeable {
+  private val interactions = IdentityHashMap<AutoCloseable, Int>()
+  private var latest: AutoCloseable? = null
+
+  /**
+   * Called before an interaction is verified with the target
+   */
+  @Synchronized
+  fun acquire(target: Any) {
+    if (target is AutoCloseable) {
+      latest = target
+      interactions[target] = (interactions[target] ?: 0) + 1
+      closeUnusedTargets()
+    }
+  }
+
+  /**
+   * Called once the interaction has been verified with the target
+   */
+  @Synchronized
+  fun release(target: Any) {
+    if (target is AutoCloseable && interactions.containsKey(target)) {
+      interactions[target] = interactions[target]!! - 1
+      closeUnusedTargets()
+    }
+  }
+
+  private fun closeUnusedTargets() {
+    val iterator = interactions.entries.iterator()
+    while (iterator.hasNext()) {
+      val (target, count) = iterator.next()
+      if (count <= 0 && target !== latest) {
+        iterator.remove()
+        closeTarget(target)
+      }
+    }
+  }
+
+  @Synchronized
+  override fun close() {
+    interactions.keys.forEach { closeTarget(it) }
+    interactions.clear()
+    latest = null
+  }
+
+  @Suppress("TooGenericExceptionCaught")
+  private fun closeTarget(target: AutoCloseable) {
+    try {
+      target.close()
+    } catch (e: Exception) {
+      logger.warn(e) { "Failed to close test target $target" }
+    }
+  }
+
+  companion object : KLogging()
+}
@@ -0,0 +1,155 @@
+package au.com.dius.pact.provider.reporters
+
+import au.com.dius.pact.core.model.Interaction
+import au.com.dius.pact.core.model.Pact
+import au.com.dius.pact.core.model.PactSource
+import au.com.dius.pact.core.model.UrlPactSource
+import au.com.dius.pact.core.pactbroker.VerificationNotice
+import au.com.dius.pact.provider.IConsumerInfo
+import au.com.dius.pact.provider.IProviderInfo
+import au.com.dius.pact.provider.IProviderVerifier
+import au.com.dius.pact.provider.VerificationResult
+import java.io.File
+
+/**
+ * Reporter that records the calls made to it so they can be replayed against another reporter later. This is used
+ * when interactions are verified in parallel, so the output of each interaction is reported in the order of the
+ * interactions in the pact file. The properties of the reporter are passed through to the delegate.
+ */
+@Suppress("TooManyFunctions")
+class BufferedReporter(val delegate: VerifierReporter) : VerifierReporter {
+  private val calls = mutableListOf<(VerifierReporter) -> Unit>()
+
+  override val ext: String?
+    get() = delegate.ext
+  override var reportDir: File?
+    get() = delegate.reportDir
+    set(value) { delegate.reportDir = value }
+  override var reportFile: File
+    get() = delegate.reportFile
+    set(value) { delegate.reportFile = value }
+  override var verifier: IProviderVerifier
+    get() = delegate.verifier
+    set(value) { delegate.verifier = value }
+
+  /**
+   * Replays all the recorded calls against the reporter, in the order they were made
+   */
+  fun replay(reporter: VerifierReporter) {
+    calls.forEach { it(reporter) }
+    calls.clear()
+  }
+
+  private fun record(call: (VerifierReporter) -> Unit) {
+    calls.add(call)
+  }
+
+  override fun initialise(provider: IProviderInfo) = record { it.initialise(provider) }
+
+  override fun finaliseReport() = record { it.finaliseReport() }
+
+  override fun reportVerificationForConsumer(consumer: IConsumerInfo, provider: IProviderInfo, tag: String?) =
+    record { it.reportVerificationForConsumer(consumer, provider, tag) }
+
+  override fun verifyConsumerFromUrl(pactUrl: UrlPactSource, consumer: IConsumerInfo) =
+    record { it.verifyConsumerFromUrl(pactUrl, consumer) }
+
+  override fun verifyConsumerFromFile(pactFile: PactSource, consumer: IConsumerInfo) =
+    record { it.verifyConsumerFromFile(pactFile, consumer) }
+
+  override fun pactLoadFailureForConsumer(consumer: IConsumerInfo, message: String) =
+    record { it.pactLoadFailureForConsumer(consumer, message) }
+
+  override fun warnProviderHasNoConsumers(provider: IProviderInfo) = record { it.warnProviderHasNoConsumers(provider) }
+
+  override fun warnPactFileHasNoInteractions(pact: Pact) = record { it.warnPactFileHasNoInteractions(pact) }
+
+  override fun interactionDescription(interaction: Interaction) = record { it.interactionDescription(interaction) }
+
+  override fun stateForInteraction(state: String, provider: IProviderInfo, consumer: IConsumerInfo, isSetup: Boolean) =
+    record { it.stateForInteraction(state, provider, consumer, isSetup) }
+
+  override fun warnStateChangeIgnored(state: String, provider: IProviderInfo, consumer: IConsumerInfo) =
+    record { it.warnStateChangeIgnored(state, provider, consumer) }
+
+  override fun stateChangeRequestFailedWithException(
+    state: String,
+    isSetup: Boolean,
+    e: Exception,
+    printStackTrace: Boolean
+  ) = record { it.stateChangeRequestFailedWithException(state, isSetup, e, printStackTrace) }
+
+  override fun stateChangeRequestFailed(state: String, provider: IProviderInfo, isSetup: Boolean, httpStatus: String) =
+    record { it.stateChangeRequestFailed(state, provider, isSetup, httpStatus) }
+
+  override fun warnStateChangeIgnoredDueToInvalidUrl(
+    state: String,
+    provider: IProviderInfo,
+    isSetup: Boolean,
+    stateChangeHandler: Any
+  ) = record { it.warnStateChangeIgnoredDueToInvalidUrl(state, provider, isSetup, stateChangeHandler) }
+
+  override fun requestFailed(
+    provider: IProviderInfo,
+    interaction: Interaction,
+    interactionMessage: String,
+    e: Exception,
+    printStackTrace: Boolean
+  ) = record { it.requestFailed(provider, interaction, interactionMessage, e, printStackTrace) }
+
+  override fun returnsAResponseWhich() = record { it.returnsAResponseWhich() }
+
+  override fun statusComparisonOk(status: Int) = record { it.statusComparisonOk(status) }
+
+  override fun statusComparisonFailed(status: Int, comparison: Any) =
+    record { it.statusComparisonFailed(status, comparison) }
+
+  override fun includesHeaders() = record { it.includesHeaders() }
+
+  override fun headerComparisonOk(key: String, value: List<String>) = record { it.headerComparisonOk(key, value) }
+
+  override fun headerComparisonFailed(key: String, value: List<String>, comparison: Any) =
+    record { it.headerComparisonFailed(key, value, comparison) }
+
+  override fun bodyComparisonOk() = record { it.bodyComparisonOk() }
+
+  override fun bodyComparisonFailed(comparison: Any) = record { it.bodyComparisonFailed(comparison) }
+
+  override fun errorHasNoAnnotatedMethodsFoundForInteraction(interaction: Interaction) =
+    record { it.errorHasNoAnnotatedMethodsFoundForInteraction(interaction) }
+
+  override fun verificationFailed(interaction: Interaction, e: Exception, printStackTrace: Boolean) =
+    record { it.verificationFailed(interaction, e, printStackTrace) }
+
+  override fun generatesAMessageWhich() = record { it.generatesAMessageWhich() }
+
+  @Deprecated("Use version that takes a VerificationResult")
+  override fun displayFailures(failures: Map<String, Any>) = record {
+    @Suppress("DEPRECATION")
+    it.displayFailures(failures)
+  }
+
+  override fun displayFailures(failures: List<VerificationResult.Failed>) = record { it.displayFailures(failures) }
+
+  override fun includesMetadata() = record { it.includesMetadata() }
+
+  override fun metadataComparisonOk() = record { it.metadataComparisonOk() }
+
+  override fun metadataComparisonOk(key: String, value: Any?) = record { it.metadataComparisonOk(key, value) }
+
+  override fun metadataComparisonFailed(key: String, value: Any?, comparison: Any) =
+    record { it.metadataComparisonFailed(key, value, comparison) }
+
+  override fun reportVerificationNoticesForConsumer(
+    consumer: IConsumerInfo,
+    provider: IProviderInfo,
+    notices: List<VerificationNotice>
+  ) = record { it.reportVerificationNoticesForConsumer(consumer, provider, notices) }
+
+  override fun warnPublishResultsSkippedBecauseFiltered() = record { it.warnPublishResultsSkippedBecauseFiltered() }
+
+  override fun warnPublishResultsSkippedBecauseDisabled(envVar: String) =
+    record { it.warnPublishResultsSkippedBecauseDisabled(envVar) }
+
+  override fun receive(event: Event) = record { it.receive(event) }
+}
@@ -73,4 +73,79 @@ class HttpClientFactorySpec extends Specification {
     then:
     !(client.execChain.handler instanceof RedirectExec)
   }
+
+  def 'reuses the same client for a provider'() {
+    given:
+    def provider = new ProviderInfo('reuses the same client')
+    def factory = new HttpClientFactory()
+
+    expect:
+    factory.newClient(provider).is(factory.newClient(provider))
+    !factory.newClient(provider).is(new HttpClientFactory().newClient(provider))
+    !factory.newClient(provider).is(factory.newClient(new ProviderInfo('reuses the same client - other provider')))
+  }
+
+  def 'reuses the client returned by createClient'() {
+    given:
+    def provider = new ProviderInfo('reuses createClient')
+    def count = 0
+    provider.createClient = { count++; Mock(CloseableHttpClient) }
+    def factory = new HttpClientFactory()
+
+    when:
+    def client1 = factory.newClient(provider)
+    def client2 = factory.newClient(provider)
+
+    then:
+    client1.is(client2)
+    count == 1
+  }
+
+  @RestoreSystemProperties
+  def 'configures the size of the connection pool'() {
+    given:
+    def provider = new ProviderInfo('connection pool')
+    System.setProperty('pact.verifier.httpclient.maxConnections', '42')
+
+    when:
+    def client = new HttpClientFactory().newClient(provider)
+
+    then:
+    client.connManager.maxTotal == 42
+    client.connManager.defaultMaxPerRoute == 42
+  }
+
+  def 'defaults the size of the connection pool to at least the given number of connections'() {
+    expect:
+    def client = new HttpClientFactory(connections).newClient(new ProviderInfo('default pool size'))
+    client.connManager.maxTotal == maxTotal
+    client.connManager.defaultMaxPerRoute == maxPerRoute
+
+    where:
+    connections | maxTotal | maxPerRoute
+    null        | 25       | 5
+    2           | 25       | 5
+    16          | 25       | 16
+    32          | 32       | 32
+  }
+
+  def 'closing the factory only closes the clients it created'() {
+    given:
+    def provider = new ProviderInfo('close clients')
+    def client1 = Mock(CloseableHttpClient)
+    def client2 = Mock(CloseableHttpClient)
+    def clients = [client1, client2]
+    provider.createClient = { clients.remove(0) }
+    def factory1 = new HttpClientFactory()
+    def factory2 = new HttpClientFactory()
+    factory1.newClient(provider)
+    factory2.newClient(provider)
+
+    when:
+    factory1.close()
+
+    then:
+    1 * client1.close()
+    0 * client2.close()
+  }
 }
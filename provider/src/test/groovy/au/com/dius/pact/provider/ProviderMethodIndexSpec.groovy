@@ -0,0 +1,22 @@
+package au.com.dius.pact.provider
+
+import io.github.classgraph.ClassGraph
+import spock.lang.Specification
+
+class ProviderMethodIndexSpec extends Specification {
+
+  def 'indexes the annotated methods by the annotation value'() {
+    given:
+    def index = new ClassGraph().enableAllInfo().whitelistPackages('au.com.dius.pact.provider').scan().withCloseable {
+      new ProviderMethodIndex(it)
+    }
+
+    when:
+    def methods = index.methodsFor('verifyResponseByInvokingProviderMethods Test Message')
+
+    then:
+    index.size >= 1
+    methods == [TestVerifyResponseByInvokingProviderMethodsClass.getDeclaredMethod('method')]
+    index.methodsFor('no provider method for this').empty
+  }
+}
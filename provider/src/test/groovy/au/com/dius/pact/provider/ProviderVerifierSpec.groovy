@@ -45,6 +45,7 @@ import spock.lang.Unroll
 import spock.util.environment.RestoreSystemProperties
 
 import java.util.function.Function
+import java.util.function.Supplier
 
 @SuppressWarnings(['UnnecessaryGetter', 'LineLength'])
 class ProviderVerifierSpec extends Specification {
@@ -785,6 +786,26 @@ class ProviderVerifierSpec extends Specification {
     result.failures['abc123'][0].e instanceof RuntimeException
   }
 
+  def 'verifiers using the same class loader and packages only scan the classpath once'() {
+    given:
+    def classLoader = new URLClassLoader([] as URL[], ProviderVerifierSpec.classLoader)
+    def first = Spy(ProviderVerifier)
+    def second = Spy(ProviderVerifier)
+    [first, second].each { it.projectClassLoader = { classLoader } as Supplier }
+    ProviderInfo provider = new ProviderInfo('Test Provider')
+    Interaction interaction = new Message('verifyResponseByInvokingProviderMethods Test Message', [],
+      OptionalBody.empty(), new MatchingRulesImpl(), new Generators(), [:], 'abc123')
+    IConsumerInfo consumer = Stub()
+
+    when:
+    first.verifyResponseByInvokingProviderMethods(provider, consumer, interaction, 'Test', [:], false)
+    second.verifyResponseByInvokingProviderMethods(provider, consumer, interaction, 'Test', [:], false)
+
+    then:
+    1 * first.scanProviderMethods(classLoader, [], _)
+    0 * second.scanProviderMethods(_, _, _)
+  }
+
   def 'verifyInteraction sets the verification error result as pending if it is a V4 pending interaction'() {
     given:
     ProviderInfo provider = new ProviderInfo('Test Provider')
@@ -991,4 +1012,109 @@ class ProviderVerifierSpec extends Specification {
     'method3'  | V4Interaction.SynchronousMessages | new V4Interaction.SynchronousMessages('test') | 'method3'
     'method4'  | MessageContents                   | new V4Interaction.SynchronousMessages('test') | 'method4'
   }
+
+  def 'when verifying in parallel, the reporter output and results are in the order of the interactions'() {
+    given:
+    def reporter = Mock(VerifierReporter)
+    verifier.reporters = [reporter]
+    ProviderInfo provider = new ProviderInfo('Test Provider')
+    ConsumerInfo consumer = new ConsumerInfo(name: 'Test Consumer', pactSource: UnknownPactSource.INSTANCE)
+    def interactions = (1..4).collect {
+      new RequestResponseInteraction("Interaction $it", [new ProviderState("State $it")], new Request(),
+        new Response(), "id$it")
+    }
+    verifier.pactReader = Stub(PactReader) {
+      loadPact(_) >> new RequestResponsePact(new Provider('Test Provider'), new Consumer('Test Consumer'),
+        interactions)
+    }
+    verifier.stateChangeHandler = Stub(StateChange) {
+      executeStateChange(*_) >> new StateChangeResult(new Result.Ok([:]))
+    }
+    verifier.projectHasProperty = { it.startsWith('pact.verifier.parallel') }
+    verifier.projectGetProperty = { it == 'pact.verifier.parallel.workers' ? '4' : 'true' }
+    def threads = [].asSynchronized()
+    verifier.verifyResponseFromProvider(provider, _, _, _, _, _, false) >> { args ->
+      def interaction = args[1]
+      threads << Thread.currentThread().name
+      Thread.sleep(200 - interactions.indexOf(interaction) * 50)
+      interaction.description == 'Interaction 2' ?
+        new VerificationResult.Failed('Boom', '', ['id2': []]) : new VerificationResult.Ok()
+    }
+
+    when:
+    def result = verifier.runVerificationForConsumer([:], provider, consumer)
+
+    then:
+    1 * reporter.receive(new Event.InteractionDescription(interactions[0]))
+
+    then:
+    1 * reporter.receive(new Event.InteractionDescription(interactions[1]))
+
+    then:
+    1 * reporter.receive(new Event.InteractionDescription(interactions[2]))
+
+    then:
+    1 * reporter.receive(new Event.InteractionDescription(interactions[3]))
+    result instanceof VerificationResult.Failed
+    result.failures.keySet() == ['id2'] as Set
+    threads.every { it.startsWith('pact-verifier-interaction') }
+  }
+
+  def 'when coalescing state changes, each set of provider states is set up once and results are in pact order'() {
+    given:
+    def reporter = Mock(VerifierReporter)
+    verifier.reporters = [reporter]
+    ProviderInfo provider = new ProviderInfo('Test Provider')
+    provider.stateChangeTeardown = true
+    ConsumerInfo consumer = new ConsumerInfo(name: 'Test Consumer', pactSource: UnknownPactSource.INSTANCE)
+    def states = ['A', 'B', 'A', 'B', 'A']
+    def interactions = states.withIndex().collect { state, i ->
+      new RequestResponseInteraction("Interaction $i", [new ProviderState("State $state")], new Request(),
+        new Response(), "id$i")
+    }
+    verifier.pactReader = Stub(PactReader) {
+      loadPact(_) >> new RequestResponsePact(new Provider('Test Provider'), new Consumer('Test Consumer'),
+        interactions)
+    }
+    def calls = []
+    verifier.stateChangeHandler = Mock(StateChange) {
+      executeStateChange(*_) >> { args ->
+        calls << "setup ${args[3].providerStates[0].name}"
+        new StateChangeResult(new Result.Ok([:]), args[4])
+      }
+      executeStateChangeTeardown(*_) >> { args -> calls << "teardown ${args[1].providerStates[0].name}" }
+    }
+    verifier.projectHasProperty = { it == ProviderVerifier.PACT_VERIFIER_COALESCE_STATE_CHANGES }
+    verifier.projectGetProperty = { 'true' }
+    verifier.verifyResponseFromProvider(provider, _, _, _, _, _, false) >> { args ->
+      def interaction = args[1]
+      calls << "verify ${interaction.description}"
+      interaction.description == 'Interaction 3' ?
+        new VerificationResult.Failed('Boom', '', ['id3': []]) : new VerificationResult.Ok()
+    }
+
+    when:
+    def result = verifier.runVerificationForConsumer([:], provider, consumer)
+
+    then:
+    1 * reporter.receive(new Event.InteractionDescription(interactions[0]))
+
+    then:
+    1 * reporter.receive(new Event.InteractionDescription(interactions[1]))
+
+    then:
+    1 * reporter.receive(new Event.InteractionDescription(interactions[2]))
+
+    then:
+    1 * reporter.receive(new Event.InteractionDescription(interactions[3]))
+
+    then:
+    1 * reporter.receive(new Event.InteractionDescription(interactions[4]))
+    calls == [
+      'setup State A', 'verify Interaction 0', 'verify Interaction 2', 'verify Interaction 4', 'teardown State A',
+      'setup State B', 'verify Interaction 1', 'verify Interaction 3', 'teardown State B'
+    ]
+    result instanceof VerificationResult.Failed
+    result.failures.keySet() == ['id3'] as Set
+  }
 }
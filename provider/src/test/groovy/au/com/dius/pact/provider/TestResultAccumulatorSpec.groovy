@@ -25,6 +25,9 @@ import spock.lang.Specification
 import spock.lang.Unroll
 import spock.util.environment.RestoreSystemProperties
 
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
 @SuppressWarnings('UnnecessaryGetter')
 class TestResultAccumulatorSpec extends Specification {
 
@@ -455,4 +458,36 @@ class TestResultAccumulatorSpec extends Specification {
     cleanup:
     testResultAccumulator.verificationReporter = reporter
   }
+
+  def 'updateTestResult - publishes the results once when the interactions are verified concurrently'() {
+    given:
+    def interactions = (1..1000).collect {
+      new RequestResponseInteraction("interaction $it", [], new Request(), new Response())
+    }
+    def pact = new RequestResponsePact(new Provider('provider'), new Consumer('concurrent consumer'), interactions)
+    testResultAccumulator.testResults.clear()
+    def reporter = testResultAccumulator.verificationReporter
+    testResultAccumulator.verificationReporter = Mock(VerificationReporter) {
+      publishingResultsDisabled(_) >> false
+    }
+    def mockValueResolver = Mock(ValueResolver)
+    def executor = Executors.newFixedThreadPool(8)
+
+    when:
+    interactions.each { interaction ->
+      executor.submit {
+        testResultAccumulator.updateTestResult(pact, interaction, new TestResult.Ok(), null, mockValueResolver)
+      }
+    }
+    executor.shutdown()
+    executor.awaitTermination(30, TimeUnit.SECONDS)
+
+    then:
+    1 * testResultAccumulator.verificationReporter.reportResults(_, new TestResult.Ok(), _, _, _, _) >>
+      new Result.Ok(true)
+    testResultAccumulator.testResults.isEmpty()
+
+    cleanup:
+    testResultAccumulator.verificationReporter = reporter
+  }
 }
@@ -0,0 +1,124 @@
+package au.com.dius.pact.provider.junitsupport
+
+import spock.lang.Specification
+
+@SuppressWarnings('UnusedMethodParameter')
+class StateChangeDispatchTableSpec extends Specification {
+
+  static class StateHandlers {
+    List<String> calls = []
+
+    @State(['state one', 'state two'])
+    void one() {
+      calls << 'one'
+    }
+
+    @State(value = 'state one', action = StateChangeAction.TEARDOWN)
+    void oneTeardown() {
+      calls << 'oneTeardown'
+    }
+
+    @State(value = 'user \\d+ exists', regex = true)
+    Map userExists(Map params) {
+      calls << 'userExists'
+      [id: params.id]
+    }
+
+    @State('user 100 exists')
+    void user100() {
+      calls << 'user100'
+    }
+
+    @State('static state')
+    static Map staticState() {
+      [static: true]
+    }
+
+    void notAStateChange() { }
+  }
+
+  private static List<java.lang.reflect.Method> methods(List<String> names) {
+    names.collect { name -> StateHandlers.declaredMethods.find { it.name == name } }
+  }
+
+  def 'looks up the state change methods by the state name'() {
+    given:
+    def table = new StateChangeDispatchTable(methods(['one', 'oneTeardown', 'userExists', 'user100',
+      'notAStateChange']))
+
+    expect:
+    table.methodsFor(state)*.method*.name == expected
+
+    where:
+    state             | expected
+    'state one'       | ['one', 'oneTeardown']
+    'state two'       | ['one']
+    'user 1 exists'   | ['userExists']
+    'user 100 exists' | ['userExists', 'user100']
+    'user x exists'   | []
+    'other state'     | []
+  }
+
+  def 'filters the state change methods by the action'() {
+    given:
+    def table = new StateChangeDispatchTable(methods(['one', 'oneTeardown']))
+
+    expect:
+    table.methodsFor('state one', StateChangeAction.SETUP)*.method*.name == ['one']
+    table.methodsFor('state one', StateChangeAction.TEARDOWN)*.method*.name == ['oneTeardown']
+  }
+
+  def 'invokes the state change methods with the provider state parameters'() {
+    given:
+    def table = new StateChangeDispatchTable(methods(['one', 'userExists', 'staticState']))
+    def handlers = new StateHandlers()
+
+    when:
+    def result1 = table.methodsFor('state one').first().invoke(handlers, [id: 1])
+    def result2 = table.methodsFor('user 1 exists').first().invoke(handlers, [id: 1])
+    def result3 = table.methodsFor('static state').first().invoke(handlers, [:])
+
+    then:
+    result1 == null
+    result2 == [id: 1]
+    result3 == [static: true]
+    handlers.calls == ['one', 'userExists']
+  }
+
+  def 'exceptions from the state change method are not wrapped'() {
+    given:
+    def method = Thrower.getDeclaredMethod('fail')
+    def table = new StateChangeDispatchTable([method])
+
+    when:
+    table.methodsFor('failing state').first().invoke(new Thrower(), [:])
+
+    then:
+    def ex = thrown(IllegalStateException)
+    ex.message == 'Boom'
+  }
+
+  def 'the dispatch table is only built once for each class'() {
+    given:
+    def count = 0
+    def cache = new StateChangeDispatchTable.Cache({ clazz ->
+      count++
+      methods(['one'])
+    })
+
+    when:
+    def table1 = cache.forClass(StateHandlers)
+    def table2 = cache.forClass(StateHandlers)
+
+    then:
+    table1.is(table2)
+    count == 1
+  }
+
+  static class Thrower {
+    @State('failing state')
+    void fail() {
+      throw new IllegalStateException('Boom')
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package au.com.dius.pact.provider.junitsupport.target
+
+import spock.lang.Specification
+
+class TestTargetResourcesSpec extends Specification {
+
+  private TestTargetResources resources
+
+  def setup() {
+    resources = new TestTargetResources()
+  }
+
+  def 'keeps the target open while the following interactions use the same target'() {
+    given:
+    def target = Mock(Closeable)
+
+    when:
+    3.times {
+      resources.acquire(target)
+      resources.release(target)
+    }
+
+    then:
+    0 * target.close()
+
+    when:
+    resources.close()
+
+    then:
+    1 * target.close()
+  }
+
+  def 'closes a target once a different target is used'() {
+    given:
+    def first = Mock(Closeable)
+    def second = Mock(Closeable)
+    resources.acquire(first)
+    resources.release(first)
+
+    when:
+    resources.acquire(second)
+
+    then:
+    1 * first.close()
+    0 * second.close()
+  }
+
+  def 'does not close a target that is still being used by an interaction'() {
+    given:
+    def first = Mock(Closeable)
+    def second = Mock(Closeable)
+    resources.acquire(first)
+
+    when:
+    resources.acquire(second)
+
+    then:
+    0 * first.close()
+
+    when:
+    resources.release(first)
+
+    then:
+    1 * first.close()
+  }
+
+  def 'ignores targets that can not be closed'() {
+    when:
+    resources.acquire('target')
+    resources.release('target')
+    resources.close()
+
+    then:
+    noExceptionThrown()
+  }
+}